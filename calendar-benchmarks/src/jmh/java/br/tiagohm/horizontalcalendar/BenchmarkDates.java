@@ -0,0 +1,53 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Inputs shared by the benchmarks.
+ */
+final class BenchmarkDates {
+
+    //Has daylight saving time, so midnight is sometimes skipped
+    static final TimeZone TIME_ZONE = TimeZone.getTimeZone("America/Sao_Paulo");
+    static final long START_DAY = EpochDays.of(2017, 1, 1);
+    //Dates looked up or bound per invocation
+    static final int BATCH_SIZE = 1024;
+
+    private BenchmarkDates() {
+    }
+
+    static long endDay(int rangeMonths) {
+        return EpochDays.firstDayOfEpochMonth(EpochDays.epochMonthOf(START_DAY) + rangeMonths) - 1;
+    }
+
+    /**
+     * @return instants spread over the range, plus some before and after it
+     */
+    static long[] randomTimes(long startDay, long endDay, long seed) {
+        Random random = new Random(seed);
+        long days = endDay - startDay + 1;
+        long[] times = new long[BATCH_SIZE];
+        for (int i = 0; i < times.length; i++) {
+            long epochDay = startDay - days / 10 + (long) (random.nextDouble() * days * 1.2);
+            times[i] = EpochDays.toMillis(epochDay, TIME_ZONE) + random.nextInt((int) EpochDays.MILLIS_PER_DAY / 2);
+        }
+        return times;
+    }
+
+    /**
+     * JVM stand-in for {@code android.text.format.DateFormat}.
+     */
+    static final class SimpleDateFormatter implements DateLabelCache.Formatter {
+
+        @Override
+        public CharSequence format(String format, long timeInMillis) {
+            SimpleDateFormat dateFormat = new SimpleDateFormat(format, Locale.getDefault());
+            dateFormat.setTimeZone(TIME_ZONE);
+            return dateFormat.format(new Date(timeInMillis));
+        }
+    }
+}
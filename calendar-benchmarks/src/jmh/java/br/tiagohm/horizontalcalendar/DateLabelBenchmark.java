@@ -0,0 +1,97 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Labels formatted in {@code HorizontalCalendarAdapter.onBindViewHolder}, for days and for
+ * {@code showYearAndMonth}.
+ */
+@State(Scope.Benchmark)
+public class DateLabelBenchmark {
+
+    //1 month to 100 years
+    @Param({"1", "12", "120", "1200"})
+    public int rangeMonths;
+
+    @Param({"false", "true"})
+    public boolean showYearAndMonth;
+
+    private final DateLabelCache.Formatter formatter = new BenchmarkDates.SimpleDateFormatter();
+    private DateSource dateSource;
+    private DateLabelCache labelCache;
+    private int[] positions;
+
+    @Setup
+    public void setUp() {
+        long startDay = BenchmarkDates.START_DAY;
+        long endDay = BenchmarkDates.endDay(rangeMonths);
+        dateSource = CalendarDates.createDateSource(startDay, endDay, 2, showYearAndMonth, BenchmarkDates.TIME_ZONE);
+        labelCache = newLabelCache();
+
+        long[] times = BenchmarkDates.randomTimes(startDay, endDay, 42);
+        positions = new int[times.length];
+        for (int i = 0; i < times.length; i++) {
+            int position = dateSource.getPosition(EpochDays.fromMillis(times[i], BenchmarkDates.TIME_ZONE));
+            positions[i] = Math.max(0, position);
+        }
+    }
+
+    /**
+     * Binding {@link BenchmarkDates#BATCH_SIZE} cells while scrolling, once every label is cached.
+     */
+    @Benchmark
+    public void bindCachedLabels(Blackhole blackhole) {
+        for (int position : positions) {
+            bindLabels(labelCache, dateSource.getEpochDay(position), blackhole);
+        }
+    }
+
+    /**
+     * Binding the first screen of cells with a new cache, which formats every label.
+     */
+    @Benchmark
+    public void bindFirstScreen(Blackhole blackhole) {
+        DateLabelCache labelCache = newLabelCache();
+        for (int position = 0; position < 7; position++) {
+            bindLabels(labelCache, dateSource.getEpochDay(position), blackhole);
+        }
+    }
+
+    /**
+     * Formatting every label on each bind, as before the labels were cached.
+     */
+    @Benchmark
+    public void bindFormattedLabels(Blackhole blackhole) {
+        for (int position : positions) {
+            long time = EpochDays.toMillis(dateSource.getEpochDay(position), BenchmarkDates.TIME_ZONE);
+            if (showYearAndMonth) {
+                blackhole.consume(formatter.format("MMM", time));
+                blackhole.consume(formatter.format("yyyy", time));
+            } else {
+                blackhole.consume(formatter.format("dd", time));
+                blackhole.consume(formatter.format("MMM", time));
+                blackhole.consume(formatter.format("EEE", time));
+            }
+        }
+    }
+
+    private DateLabelCache newLabelCache() {
+        return new DateLabelCache("EEE", "dd", "MMM", "yyyy", BenchmarkDates.TIME_ZONE, formatter);
+    }
+
+    private void bindLabels(DateLabelCache labelCache, long epochDay, Blackhole blackhole) {
+        if (showYearAndMonth) {
+            blackhole.consume(labelCache.getMonth(epochDay));
+            blackhole.consume(labelCache.getYear(epochDay));
+        } else {
+            blackhole.consume(labelCache.getDayNumber(epochDay));
+            blackhole.consume(labelCache.getMonth(epochDay));
+            blackhole.consume(labelCache.getDayName(epochDay));
+        }
+    }
+}
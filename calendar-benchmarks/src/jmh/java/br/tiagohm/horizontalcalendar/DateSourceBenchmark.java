@@ -0,0 +1,95 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Creating the dates of the calendar, finding the position of a date and comparing dates,
+ * for days and for {@code showYearAndMonth}.
+ */
+@State(Scope.Benchmark)
+public class DateSourceBenchmark {
+
+    //1 month to 100 years
+    @Param({"1", "12", "120", "1200"})
+    public int rangeMonths;
+
+    @Param({"false", "true"})
+    public boolean showYearAndMonth;
+
+    private long startDay;
+    private long endDay;
+    private int padding;
+    private DateSource dateSource;
+    private long[] times;
+    private int[] positions;
+
+    @Setup
+    public void setUp() {
+        startDay = BenchmarkDates.START_DAY;
+        endDay = BenchmarkDates.endDay(rangeMonths);
+        padding = 2;
+        dateSource = CalendarDates.createDateSource(startDay, endDay, padding, showYearAndMonth,
+                BenchmarkDates.TIME_ZONE);
+        times = BenchmarkDates.randomTimes(startDay, endDay, 42);
+        positions = new int[times.length];
+        for (int i = 0; i < times.length; i++) {
+            int position = dateSource.getPosition(EpochDays.fromMillis(times[i], BenchmarkDates.TIME_ZONE));
+            positions[i] = Math.max(0, position);
+        }
+    }
+
+    /**
+     * What the calendar does off the main thread before it is shown.
+     */
+    @Benchmark
+    public DateSource createDateSource() {
+        return CalendarDates.createDateSource(startDay, endDay, padding, showYearAndMonth, BenchmarkDates.TIME_ZONE);
+    }
+
+    /**
+     * Same as {@code HorizontalCalendar.positionOfDate} for {@link BenchmarkDates#BATCH_SIZE} dates.
+     */
+    @Benchmark
+    public int positionOfDate() {
+        int sum = 0;
+        for (long time : times) {
+            long epochDay = EpochDays.fromMillis(time, BenchmarkDates.TIME_ZONE);
+            if (CalendarDates.isInRange(epochDay, startDay, endDay, showYearAndMonth)) {
+                sum += dateSource.getPosition(epochDay);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Same as {@code HorizontalCalendar.isDatesDaysEquals} for {@link BenchmarkDates#BATCH_SIZE} pairs of dates.
+     */
+    @Benchmark
+    public int isDatesDaysEquals() {
+        int count = 0;
+        for (int i = 1; i < times.length; i++) {
+            long epochDay1 = EpochDays.fromMillis(times[i - 1], BenchmarkDates.TIME_ZONE);
+            long epochDay2 = EpochDays.fromMillis(times[i], BenchmarkDates.TIME_ZONE);
+            if (CalendarDates.isSameDate(epochDay1, epochDay2, showYearAndMonth)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The date of each position, as handed to the listener.
+     */
+    @Benchmark
+    public long dateAt() {
+        long sum = 0;
+        for (int position : positions) {
+            sum += dateSource.getDate(position).getTime();
+        }
+        return sum;
+    }
+}
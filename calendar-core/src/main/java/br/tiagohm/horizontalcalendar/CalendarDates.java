@@ -0,0 +1,61 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.TimeZone;
+
+/**
+ * Date rules of the calendar on epoch days, for a calendar of days or, with {@code months} set,
+ * of months.
+ */
+final class CalendarDates {
+
+    private CalendarDates() {
+    }
+
+    /**
+     * @param padding number of dates added on each side, so the first and last dates can be centered
+     * @return the dates from {@code startDay} to {@code endDay}
+     */
+    static DateSource createDateSource(long startDay, long endDay, int padding, boolean months, TimeZone timeZone) {
+        if (months) {
+            int startMonth = EpochDays.epochMonthOf(startDay) - padding;
+            int endMonth = EpochDays.epochMonthOf(endDay) + padding;
+            return new MonthDateSource(startMonth, endMonth - startMonth + 1, timeZone);
+        } else {
+            return new DayDateSource(startDay - padding, (int) (endDay - startDay) + 1 + 2 * padding, timeZone);
+        }
+    }
+
+    /**
+     * @return true if {@code epochDay} is between {@code startDay} and {@code endDay}, or their months
+     */
+    static boolean isInRange(long epochDay, long startDay, long endDay, boolean months) {
+        if (months) {
+            int epochMonth = EpochDays.epochMonthOf(epochDay);
+            return (epochMonth >= EpochDays.epochMonthOf(startDay)) && (epochMonth <= EpochDays.epochMonthOf(endDay));
+        }
+        return (epochDay >= startDay) && (epochDay <= endDay);
+    }
+
+    /**
+     * @return true if both days are the same date of the calendar
+     */
+    static boolean isSameDate(long epochDay1, long epochDay2, boolean months) {
+        return months ? EpochDays.epochMonthOf(epochDay1) == EpochDays.epochMonthOf(epochDay2) : epochDay1 == epochDay2;
+    }
+
+    /**
+     * @return the day closest to {@code epochDay} that is not disabled and is between {@code startDay}
+     * and {@code endDay}, the later one on ties, or {@link Long#MIN_VALUE} if there is none
+     */
+    static long nearestEnabledDay(EpochDayRanges disabledRanges, long epochDay, long startDay, long endDay) {
+        long before = disabledRanges.previousOutside(epochDay);
+        long after = disabledRanges.nextOutside(epochDay);
+        boolean beforeInRange = (before >= startDay) && (before <= endDay);
+        boolean afterInRange = (after >= startDay) && (after <= endDay);
+
+        if (afterInRange && (!beforeInRange || (after - epochDay <= epochDay - before))) {
+            return after;
+        }
+        return beforeInRange ? before : Long.MIN_VALUE;
+    }
+}
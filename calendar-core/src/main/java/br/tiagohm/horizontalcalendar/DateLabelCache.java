@@ -0,0 +1,173 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Labels of the calendar cells, formatted once for each day name, day number, month and year
+ * and reused on every bind. A format that depends on more than its own field (Ex: "dd/MM")
+ * is formatted on every call instead.
+ * <p>
+ * The labels are formatted again when the default locale changes.
+ */
+final class DateLabelCache {
+
+    /**
+     * Formats a date with a pattern, such as {@code android.text.format.DateFormat}.
+     */
+    interface Formatter {
+
+        CharSequence format(String format, long timeInMillis);
+    }
+
+    private final String formatDayName;
+    private final String formatDayNumber;
+    private final String formatMonth;
+    private final String formatYear;
+    private final TimeZone timeZone;
+    private final Formatter formatter;
+    private final boolean cacheDayName;
+    private final boolean cacheDayNumber;
+    private final boolean cacheMonth;
+    private final boolean cacheYear;
+    //Indexed by day of week - 1, day of month - 1 and month - 1.
+    private final CharSequence[] dayNames = new CharSequence[7];
+    private final CharSequence[] dayNumbers = new CharSequence[31];
+    private final CharSequence[] months = new CharSequence[12];
+    //Sorted by year
+    private int[] years = new int[4];
+    private CharSequence[] yearLabels = new CharSequence[4];
+    private int yearCount;
+    private Locale locale;
+
+    DateLabelCache(String formatDayName, String formatDayNumber, String formatMonth, String formatYear,
+                   TimeZone timeZone, Formatter formatter) {
+        this.formatDayName = formatDayName;
+        this.formatDayNumber = formatDayNumber;
+        this.formatMonth = formatMonth;
+        this.formatYear = formatYear;
+        this.timeZone = timeZone;
+        this.formatter = formatter;
+        this.cacheDayName = usesOnlyFields(formatDayName, "Ec");
+        this.cacheDayNumber = usesOnlyFields(formatDayNumber, "d");
+        this.cacheMonth = usesOnlyFields(formatMonth, "ML");
+        this.cacheYear = usesOnlyFields(formatYear, "y");
+        this.locale = Locale.getDefault();
+    }
+
+    boolean hasFormats(String formatDayName, String formatDayNumber, String formatMonth, String formatYear,
+                       TimeZone timeZone) {
+        return equals(this.formatDayName, formatDayName) && equals(this.formatDayNumber, formatDayNumber)
+                && equals(this.formatMonth, formatMonth) && equals(this.formatYear, formatYear)
+                && this.timeZone.equals(timeZone);
+    }
+
+    CharSequence getDayName(long epochDay) {
+        if (!cacheDayName) {
+            return format(formatDayName, epochDay);
+        }
+        checkLocale();
+        int index = EpochDays.dayOfWeekOf(epochDay) - 1;
+        CharSequence label = dayNames[index];
+        if (label == null) {
+            label = dayNames[index] = format(formatDayName, epochDay);
+        }
+        return label;
+    }
+
+    CharSequence getDayNumber(long epochDay) {
+        if (!cacheDayNumber) {
+            return format(formatDayNumber, epochDay);
+        }
+        checkLocale();
+        int index = EpochDays.dayOfMonthOf(epochDay) - 1;
+        CharSequence label = dayNumbers[index];
+        if (label == null) {
+            label = dayNumbers[index] = format(formatDayNumber, epochDay);
+        }
+        return label;
+    }
+
+    CharSequence getMonth(long epochDay) {
+        if (!cacheMonth) {
+            return format(formatMonth, epochDay);
+        }
+        checkLocale();
+        int index = EpochDays.monthOf(epochDay) - 1;
+        CharSequence label = months[index];
+        if (label == null) {
+            label = months[index] = format(formatMonth, epochDay);
+        }
+        return label;
+    }
+
+    CharSequence getYear(long epochDay) {
+        if (!cacheYear) {
+            return format(formatYear, epochDay);
+        }
+        checkLocale();
+        int year = EpochDays.yearOf(epochDay);
+        int index = Arrays.binarySearch(years, 0, yearCount, year);
+        if (index >= 0) {
+            return yearLabels[index];
+        }
+
+        CharSequence label = format(formatYear, epochDay);
+        index = ~index;
+        if (yearCount == years.length) {
+            years = Arrays.copyOf(years, yearCount * 2);
+            yearLabels = Arrays.copyOf(yearLabels, yearCount * 2);
+        }
+        System.arraycopy(years, index, years, index + 1, yearCount - index);
+        System.arraycopy(yearLabels, index, yearLabels, index + 1, yearCount - index);
+        years[index] = year;
+        yearLabels[index] = label;
+        yearCount++;
+        return label;
+    }
+
+    private void checkLocale() {
+        Locale currentLocale = Locale.getDefault();
+        if (!currentLocale.equals(locale)) {
+            locale = currentLocale;
+            for (int i = 0; i < dayNames.length; i++) {
+                dayNames[i] = null;
+            }
+            for (int i = 0; i < dayNumbers.length; i++) {
+                dayNumbers[i] = null;
+            }
+            for (int i = 0; i < months.length; i++) {
+                months[i] = null;
+            }
+            yearCount = 0;
+        }
+    }
+
+    private CharSequence format(String format, long epochDay) {
+        return formatter.format(format, EpochDays.toMillis(epochDay, timeZone)).toString();
+    }
+
+    private static boolean equals(String a, String b) {
+        return (a == null) ? (b == null) : a.equals(b);
+    }
+
+    /**
+     * @return true if all pattern letters of the format, outside quoted text, are in {@code fields}
+     */
+    static boolean usesOnlyFields(String format, String fields) {
+        if (format == null) {
+            return false;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) && fields.indexOf(c) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
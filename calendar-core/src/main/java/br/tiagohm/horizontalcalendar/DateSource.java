@@ -0,0 +1,35 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.Date;
+
+/**
+ * Supplies the dates shown by {@code HorizontalCalendarView}.
+ * Dates are computed from their position on demand, so a source costs the same whatever
+ * the length of its range.
+ *
+ * @see DayDateSource
+ * @see MonthDateSource
+ */
+public interface DateSource {
+
+    /**
+     * @return number of dates in this source
+     */
+    int getCount();
+
+    /**
+     * @return the epoch day (days since 1970-01-01) of the first day at this position
+     */
+    long getEpochDay(int position);
+
+    /**
+     * @return the first instant of the day at this position
+     */
+    Date getDate(int position);
+
+    /**
+     * @param epochDay days since 1970-01-01
+     * @return position of the given day, or -1 if it is not in this source
+     */
+    int getPosition(long epochDay);
+}
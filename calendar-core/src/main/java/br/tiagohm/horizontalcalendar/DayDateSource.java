@@ -0,0 +1,52 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * {@link DateSource} with one position for each day.
+ */
+public class DayDateSource implements ExtendableDateSource {
+
+    private final TimeZone timeZone;
+    private long firstEpochDay;
+    private int count;
+
+    /**
+     * @param firstEpochDay the epoch day at position 0
+     * @param count         number of days
+     * @param timeZone      the time zone used to convert days to {@link Date}s
+     */
+    public DayDateSource(long firstEpochDay, int count, TimeZone timeZone) {
+        this.firstEpochDay = firstEpochDay;
+        this.count = count;
+        this.timeZone = timeZone;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public long getEpochDay(int position) {
+        return firstEpochDay + position;
+    }
+
+    @Override
+    public Date getDate(int position) {
+        return new Date(EpochDays.toMillis(getEpochDay(position), timeZone));
+    }
+
+    @Override
+    public int getPosition(long epochDay) {
+        long position = epochDay - firstEpochDay;
+        return (position < 0 || position >= count) ? -1 : (int) position;
+    }
+
+    @Override
+    public void extend(int before, int after) {
+        firstEpochDay -= before;
+        count += before + after;
+    }
+}
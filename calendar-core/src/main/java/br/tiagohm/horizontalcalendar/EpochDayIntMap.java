@@ -0,0 +1,68 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.Arrays;
+
+/**
+ * Map from epoch days to ints, like {@code android.util.SparseIntArray} with long keys.
+ * Keys are kept sorted in a primitive array, so lookups are a binary search and nothing is boxed.
+ * A value of 0 is the same as no value.
+ */
+final class EpochDayIntMap {
+
+    private long[] keys = new long[16];
+    private int[] values = new int[16];
+    private int size;
+
+    /**
+     * @return the value of this day, or 0 if none
+     */
+    int get(long epochDay) {
+        int index = Arrays.binarySearch(keys, 0, size, epochDay);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    /**
+     * @param value the new value, 0 to remove the day
+     * @return the previous value of this day, or 0 if none
+     */
+    int put(long epochDay, int value) {
+        int index = Arrays.binarySearch(keys, 0, size, epochDay);
+        if (index >= 0) {
+            int previous = values[index];
+            if (value != 0) {
+                values[index] = value;
+            } else {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return previous;
+        }
+
+        if (value != 0) {
+            index = ~index;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = epochDay;
+            values[index] = value;
+            size++;
+        }
+        return 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
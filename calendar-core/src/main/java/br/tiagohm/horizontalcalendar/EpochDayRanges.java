@@ -0,0 +1,118 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.Arrays;
+
+/**
+ * Set of days stored as sorted, disjoint ranges of epoch days. Overlapping and adjacent ranges
+ * are merged when added, so looking a day up is a binary search over the ranges.
+ */
+final class EpochDayRanges {
+
+    //Inclusive bounds of each range, sorted
+    private long[] starts = new long[8];
+    private long[] ends = new long[8];
+    private int size;
+
+    /**
+     * Add the days from {@code startEpochDay} to {@code endEpochDay}, both inclusive.
+     */
+    void add(long startEpochDay, long endEpochDay) {
+        if (startEpochDay > endEpochDay) {
+            long day = startEpochDay;
+            startEpochDay = endEpochDay;
+            endEpochDay = day;
+        }
+
+        //Ranges that overlap or touch the new one
+        int first = upperBound(ends, startEpochDay - 2);
+        int last = upperBound(starts, endEpochDay + 1) - 1;
+
+        if (first <= last) {
+            startEpochDay = Math.min(startEpochDay, starts[first]);
+            endEpochDay = Math.max(endEpochDay, ends[last]);
+            int removed = last - first;
+            System.arraycopy(starts, last + 1, starts, first + 1, size - last - 1);
+            System.arraycopy(ends, last + 1, ends, first + 1, size - last - 1);
+            size -= removed;
+        } else {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            System.arraycopy(starts, first, starts, first + 1, size - first);
+            System.arraycopy(ends, first, ends, first + 1, size - first);
+            size++;
+        }
+        starts[first] = startEpochDay;
+        ends[first] = endEpochDay;
+    }
+
+    boolean contains(long epochDay) {
+        return indexOf(epochDay) != -1;
+    }
+
+    /**
+     * @return true if any day from {@code firstEpochDay} to {@code lastEpochDay} is in the set
+     */
+    boolean intersects(long firstEpochDay, long lastEpochDay) {
+        int index = upperBound(starts, lastEpochDay) - 1;
+        return (index >= 0) && (ends[index] >= firstEpochDay);
+    }
+
+    /**
+     * @return the last day before {@code epochDay} that is not in the set, or {@code epochDay} if it is not in the set
+     */
+    long previousOutside(long epochDay) {
+        int index = indexOf(epochDay);
+        return index == -1 ? epochDay : starts[index] - 1;
+    }
+
+    /**
+     * @return the first day after {@code epochDay} that is not in the set, or {@code epochDay} if it is not in the set
+     */
+    long nextOutside(long epochDay) {
+        int index = indexOf(epochDay);
+        return index == -1 ? epochDay : ends[index] + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long startAt(int index) {
+        return starts[index];
+    }
+
+    long endAt(int index) {
+        return ends[index];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return index of the range containing this day, or -1
+     */
+    private int indexOf(long epochDay) {
+        int index = upperBound(starts, epochDay) - 1;
+        return (index >= 0) && (ends[index] >= epochDay) ? index : -1;
+    }
+
+    /**
+     * @return index of the first bound greater than {@code epochDay}, or {@link #size}
+     */
+    private int upperBound(long[] bounds, long epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[middle] <= epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
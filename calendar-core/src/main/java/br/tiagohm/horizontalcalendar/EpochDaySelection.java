@@ -0,0 +1,76 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.BitSet;
+
+/**
+ * Set of selected epoch days, one bit per day from the earliest selected day.
+ */
+final class EpochDaySelection {
+
+    private BitSet days = new BitSet();
+    //Epoch day of bit 0
+    private long firstEpochDay;
+
+    boolean contains(long epochDay) {
+        long index = epochDay - firstEpochDay;
+        return (index >= 0) && (index <= Integer.MAX_VALUE) && days.get((int) index);
+    }
+
+    /**
+     * Select the days from {@code firstDay} to {@code lastDay}, both inclusive.
+     */
+    void set(long firstDay, long lastDay) {
+        if (days.isEmpty()) {
+            firstEpochDay = firstDay;
+        } else if (firstDay < firstEpochDay) {
+            rebase(firstDay);
+        }
+        days.set((int) (firstDay - firstEpochDay), (int) (lastDay - firstEpochDay) + 1);
+    }
+
+    /**
+     * Unselect the days from {@code firstDay} to {@code lastDay}, both inclusive.
+     */
+    void clear(long firstDay, long lastDay) {
+        if (lastDay < firstEpochDay) {
+            return;
+        }
+        firstDay = Math.max(firstDay, firstEpochDay);
+        days.clear((int) (firstDay - firstEpochDay), (int) (lastDay - firstEpochDay) + 1);
+    }
+
+    void clear() {
+        days.clear();
+    }
+
+    int size() {
+        return days.cardinality();
+    }
+
+    /**
+     * @return the selected days, in order
+     */
+    long[] toEpochDays() {
+        long[] epochDays = new long[days.cardinality()];
+        int count = 0;
+        for (int i = days.nextSetBit(0); i >= 0; i = days.nextSetBit(i + 1)) {
+            epochDays[count++] = firstEpochDay + i;
+        }
+        return epochDays;
+    }
+
+    /**
+     * Move bit 0 to an earlier day, copying each run of selected days at once.
+     */
+    private void rebase(long epochDay) {
+        int shift = (int) (firstEpochDay - epochDay);
+        BitSet shifted = new BitSet(days.length() + shift);
+        for (int start = days.nextSetBit(0); start >= 0; start = days.nextSetBit(start)) {
+            int end = days.nextClearBit(start);
+            shifted.set(start + shift, end + shift);
+            start = end;
+        }
+        days = shifted;
+        firstEpochDay = epochDay;
+    }
+}
@@ -0,0 +1,125 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Integer date arithmetic on epoch days (days since 1970-01-01 in a given time zone)
+ * and epoch months (months since January 1970), proleptic Gregorian.
+ */
+final class EpochDays {
+
+    static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private EpochDays() {
+    }
+
+    /**
+     * @return the epoch day of the instant {@code millis} in {@code timeZone}
+     */
+    static long fromMillis(long millis, TimeZone timeZone) {
+        return floorDiv(millis + timeZone.getOffset(millis), MILLIS_PER_DAY);
+    }
+
+    /**
+     * @return the first instant of {@code epochDay} in {@code timeZone}
+     */
+    static long toMillis(long epochDay, TimeZone timeZone) {
+        long local = epochDay * MILLIS_PER_DAY;
+        long first = local - timeZone.getOffset(local - timeZone.getRawOffset());
+        long second = local - timeZone.getOffset(first);
+        boolean firstValid = fromMillis(first, timeZone) == epochDay;
+        boolean secondValid = fromMillis(second, timeZone) == epochDay;
+        if (firstValid && secondValid) {
+            return Math.min(first, second);
+        }
+        //Midnight falls in a DST gap.
+        return firstValid ? first : second;
+    }
+
+    /**
+     * @param month 1 (January) to 12 (December)
+     */
+    static long of(int year, int month, int dayOfMonth) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yoe = y - era * 400;
+        long doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + dayOfMonth - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    static int yearOf(long epochDay) {
+        long doe = dayOfEra(epochDay);
+        long yoe = yearOfEra(doe);
+        long year = yoe + era(epochDay) * 400;
+        return (int) (monthOfDayOfEra(doe, yoe) <= 2 ? year + 1 : year);
+    }
+
+    /**
+     * @return 1 (January) to 12 (December)
+     */
+    static int monthOf(long epochDay) {
+        long doe = dayOfEra(epochDay);
+        return monthOfDayOfEra(doe, yearOfEra(doe));
+    }
+
+    static int dayOfMonthOf(long epochDay) {
+        long doe = dayOfEra(epochDay);
+        long doy = dayOfYearOfEra(doe, yearOfEra(doe));
+        long mp = (5 * doy + 2) / 153;
+        return (int) (doy - (153 * mp + 2) / 5 + 1);
+    }
+
+    /**
+     * @return {@link Calendar#SUNDAY} to {@link Calendar#SATURDAY}
+     */
+    static int dayOfWeekOf(long epochDay) {
+        //1970-01-01 was a Thursday.
+        return (int) floorMod(epochDay + 4, 7) + Calendar.SUNDAY;
+    }
+
+    static int epochMonthOf(long epochDay) {
+        return (yearOf(epochDay) - 1970) * 12 + monthOf(epochDay) - 1;
+    }
+
+    /**
+     * @return the epoch day of the first day of {@code epochMonth}
+     */
+    static long firstDayOfEpochMonth(int epochMonth) {
+        int year = (int) floorDiv(epochMonth, 12) + 1970;
+        int month = (int) floorMod(epochMonth, 12) + 1;
+        return of(year, month, 1);
+    }
+
+    static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
+    }
+
+    private static long era(long epochDay) {
+        long z = epochDay + 719468;
+        return (z >= 0 ? z : z - 146096) / 146097;
+    }
+
+    private static long dayOfEra(long epochDay) {
+        return epochDay + 719468 - era(epochDay) * 146097;
+    }
+
+    private static long yearOfEra(long doe) {
+        return (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+    }
+
+    private static long dayOfYearOfEra(long doe, long yoe) {
+        return doe - (365 * yoe + yoe / 4 - yoe / 100);
+    }
+
+    private static int monthOfDayOfEra(long doe, long yoe) {
+        long mp = (5 * dayOfYearOfEra(doe, yoe) + 2) / 153;
+        return (int) (mp < 10 ? mp + 3 : mp - 9);
+    }
+}
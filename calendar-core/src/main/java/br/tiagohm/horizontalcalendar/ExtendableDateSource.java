@@ -0,0 +1,17 @@
+package br.tiagohm.horizontalcalendar;
+
+/**
+ * {@link DateSource} that can grow on both ends, used by endless calendars, see
+ * {@code HorizontalCalendar.Builder#endless(boolean)}.
+ */
+public interface ExtendableDateSource extends DateSource {
+
+    /**
+     * Add dates before and after the current range. Positions of existing dates
+     * are shifted by {@code before}.
+     *
+     * @param before number of dates to add before the first date
+     * @param after  number of dates to add after the last date
+     */
+    void extend(int before, int after);
+}
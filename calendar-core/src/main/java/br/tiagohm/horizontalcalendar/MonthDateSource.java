@@ -0,0 +1,52 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * {@link DateSource} with one position for each month, dated on the first day of the month.
+ */
+public class MonthDateSource implements ExtendableDateSource {
+
+    private final TimeZone timeZone;
+    private int firstEpochMonth;
+    private int count;
+
+    /**
+     * @param firstEpochMonth the month at position 0, as months since January 1970
+     * @param count           number of months
+     * @param timeZone        the time zone used to convert days to {@link Date}s
+     */
+    public MonthDateSource(int firstEpochMonth, int count, TimeZone timeZone) {
+        this.firstEpochMonth = firstEpochMonth;
+        this.count = count;
+        this.timeZone = timeZone;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public long getEpochDay(int position) {
+        return EpochDays.firstDayOfEpochMonth(firstEpochMonth + position);
+    }
+
+    @Override
+    public Date getDate(int position) {
+        return new Date(EpochDays.toMillis(getEpochDay(position), timeZone));
+    }
+
+    @Override
+    public int getPosition(long epochDay) {
+        int position = EpochDays.epochMonthOf(epochDay) - firstEpochMonth;
+        return (position < 0 || position >= count) ? -1 : position;
+    }
+
+    @Override
+    public void extend(int before, int after) {
+        firstEpochMonth -= before;
+        count += before + after;
+    }
+}
@@ -0,0 +1,76 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CalendarDatesTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Test
+    public void daySourceIsPadded() {
+        long start = EpochDays.of(2017, 1, 1);
+        long end = EpochDays.of(2017, 1, 31);
+        DateSource source = CalendarDates.createDateSource(start, end, 2, false, UTC);
+
+        assertEquals(35, source.getCount());
+        assertEquals(start - 2, source.getEpochDay(0));
+        assertEquals(2, source.getPosition(start));
+        assertEquals(-1, source.getPosition(end + 3));
+        assertEquals(EpochDays.toMillis(start, UTC), source.getDate(2).getTime());
+    }
+
+    @Test
+    public void monthSourceIsPadded() {
+        long start = EpochDays.of(2017, 1, 15);
+        long end = EpochDays.of(2017, 12, 15);
+        DateSource source = CalendarDates.createDateSource(start, end, 1, true, UTC);
+
+        assertEquals(14, source.getCount());
+        assertEquals(EpochDays.of(2016, 12, 1), source.getEpochDay(0));
+        assertEquals(1, source.getPosition(EpochDays.of(2017, 1, 31)));
+    }
+
+    @Test
+    public void extendsSources() {
+        ExtendableDateSource source = new DayDateSource(100, 10, UTC);
+        source.extend(5, 3);
+
+        assertEquals(18, source.getCount());
+        assertEquals(95, source.getEpochDay(0));
+        assertEquals(5, source.getPosition(100));
+    }
+
+    @Test
+    public void rangeOfDaysOrMonths() {
+        long start = EpochDays.of(2017, 3, 10);
+        long end = EpochDays.of(2017, 5, 20);
+
+        assertTrue(CalendarDates.isInRange(start, start, end, false));
+        assertFalse(CalendarDates.isInRange(start - 1, start, end, false));
+        assertTrue(CalendarDates.isInRange(EpochDays.of(2017, 3, 1), start, end, true));
+        assertFalse(CalendarDates.isInRange(EpochDays.of(2017, 6, 1), start, end, true));
+
+        assertTrue(CalendarDates.isSameDate(EpochDays.of(2017, 3, 1), EpochDays.of(2017, 3, 31), true));
+        assertFalse(CalendarDates.isSameDate(EpochDays.of(2017, 3, 1), EpochDays.of(2017, 3, 31), false));
+    }
+
+    @Test
+    public void nearestEnabledDay() {
+        EpochDayRanges disabled = new EpochDayRanges();
+        disabled.add(10, 14);
+
+        assertEquals(9, CalendarDates.nearestEnabledDay(disabled, 11, 0, 100));
+        assertEquals(15, CalendarDates.nearestEnabledDay(disabled, 13, 0, 100));
+        //Ties go to the later day
+        assertEquals(15, CalendarDates.nearestEnabledDay(disabled, 12, 0, 100));
+        assertEquals(15, CalendarDates.nearestEnabledDay(disabled, 11, 10, 100));
+        assertEquals(Long.MIN_VALUE, CalendarDates.nearestEnabledDay(disabled, 12, 10, 14));
+        assertEquals(20, CalendarDates.nearestEnabledDay(disabled, 20, 0, 100));
+    }
+}
@@ -0,0 +1,83 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DateLabelCacheTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    /**
+     * Formats with {@link SimpleDateFormat} and counts the calls.
+     */
+    private static class CountingFormatter implements DateLabelCache.Formatter {
+
+        int count;
+
+        @Override
+        public CharSequence format(String format, long timeInMillis) {
+            count++;
+            SimpleDateFormat dateFormat = new SimpleDateFormat(format, Locale.US);
+            dateFormat.setTimeZone(UTC);
+            return dateFormat.format(new Date(timeInMillis));
+        }
+    }
+
+    @Test
+    public void formatsEachLabelOnce() {
+        CountingFormatter formatter = new CountingFormatter();
+        DateLabelCache cache = new DateLabelCache("EEE", "dd", "MMM", "yyyy", UTC, formatter);
+        long first = EpochDays.of(2017, 1, 1);
+
+        for (long epochDay = first; epochDay < first + 3 * 365; epochDay++) {
+            cache.getDayName(epochDay);
+            cache.getDayNumber(epochDay);
+            cache.getMonth(epochDay);
+            cache.getYear(epochDay);
+        }
+
+        assertEquals(7 + 31 + 12 + 3, formatter.count);
+        assertEquals("Sun", cache.getDayName(first).toString());
+        assertEquals("01", cache.getDayNumber(first).toString());
+        assertEquals("Jan", cache.getMonth(first).toString());
+        assertEquals("2018", cache.getYear(first + 365).toString());
+        assertSame(cache.getYear(first), cache.getYear(first + 364));
+    }
+
+    @Test
+    public void formatsPatternsWithOtherFieldsEveryTime() {
+        CountingFormatter formatter = new CountingFormatter();
+        DateLabelCache cache = new DateLabelCache("EEE", "dd/MM", "MMM", "yyyy", UTC, formatter);
+        long day = EpochDays.of(2017, 2, 1);
+
+        assertEquals("01/02", cache.getDayNumber(day).toString());
+        assertEquals("01/03", cache.getDayNumber(day + 28).toString());
+        assertEquals(2, formatter.count);
+    }
+
+    @Test
+    public void patternFields() {
+        assertTrue(DateLabelCache.usesOnlyFields("dd", "d"));
+        assertTrue(DateLabelCache.usesOnlyFields("'day' d", "d"));
+        assertFalse(DateLabelCache.usesOnlyFields("dd/MM", "d"));
+        assertFalse(DateLabelCache.usesOnlyFields(null, "d"));
+    }
+
+    @Test
+    public void matchesFormats() {
+        DateLabelCache cache = new DateLabelCache("EEE", "dd", null, null, UTC, new CountingFormatter());
+
+        assertTrue(cache.hasFormats("EEE", "dd", null, null, UTC));
+        assertFalse(cache.hasFormats("EEE", "d", null, null, UTC));
+        assertFalse(cache.hasFormats("EEE", "dd", null, null, TimeZone.getTimeZone("GMT+1")));
+    }
+}
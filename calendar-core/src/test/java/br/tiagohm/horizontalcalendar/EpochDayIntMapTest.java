@@ -0,0 +1,38 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class EpochDayIntMapTest {
+
+    @Test
+    public void putGetAndRemove() {
+        EpochDayIntMap map = new EpochDayIntMap();
+        assertEquals(0, map.put(5, 2));
+        assertEquals(0, map.put(-5, 1));
+        assertEquals(2, map.put(5, 3));
+
+        assertEquals(3, map.get(5));
+        assertEquals(1, map.get(-5));
+        assertEquals(0, map.get(0));
+        assertEquals(-5, map.keyAt(0));
+
+        assertEquals(3, map.put(5, 0));
+        assertEquals(1, map.size());
+        assertEquals(0, map.get(5));
+    }
+
+    @Test
+    public void keepsKeysSorted() {
+        EpochDayIntMap map = new EpochDayIntMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put((i * 7919) % 1000, i + 1);
+        }
+
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.keyAt(i));
+        }
+    }
+}
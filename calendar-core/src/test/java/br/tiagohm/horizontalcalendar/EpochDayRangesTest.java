@@ -0,0 +1,70 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EpochDayRangesTest {
+
+    @Test
+    public void mergesOverlappingAndAdjacentRanges() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(10, 12);
+        ranges.add(20, 25);
+        ranges.add(13, 14);
+        ranges.add(30, 28);
+
+        assertEquals(3, ranges.size());
+        assertEquals(10, ranges.startAt(0));
+        assertEquals(14, ranges.endAt(0));
+        assertEquals(28, ranges.startAt(2));
+
+        ranges.add(11, 29);
+        assertEquals(1, ranges.size());
+        assertEquals(10, ranges.startAt(0));
+        assertEquals(30, ranges.endAt(0));
+    }
+
+    @Test
+    public void containsAndIntersects() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(-5, -1);
+        ranges.add(10, 12);
+
+        assertTrue(ranges.contains(-5));
+        assertFalse(ranges.contains(0));
+        assertTrue(ranges.contains(12));
+        assertFalse(ranges.contains(13));
+
+        assertTrue(ranges.intersects(0, 10));
+        assertFalse(ranges.intersects(0, 9));
+        assertTrue(ranges.intersects(-100, 100));
+        assertFalse(ranges.intersects(13, 100));
+    }
+
+    @Test
+    public void daysOutsideRanges() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(10, 12);
+
+        assertEquals(9, ranges.previousOutside(11));
+        assertEquals(13, ranges.nextOutside(11));
+        assertEquals(5, ranges.previousOutside(5));
+        assertEquals(5, ranges.nextOutside(5));
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        for (int i = 100; i > 0; i--) {
+            ranges.add(i * 3, i * 3);
+        }
+
+        assertEquals(100, ranges.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals((i + 1) * 3, ranges.startAt(i));
+        }
+    }
+}
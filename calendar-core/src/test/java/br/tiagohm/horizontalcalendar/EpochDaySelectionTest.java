@@ -0,0 +1,48 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EpochDaySelectionTest {
+
+    @Test
+    public void selectsAndUnselectsRanges() {
+        EpochDaySelection selection = new EpochDaySelection();
+        selection.set(100, 129);
+        selection.clear(110, 119);
+
+        assertEquals(20, selection.size());
+        assertTrue(selection.contains(109));
+        assertFalse(selection.contains(110));
+        assertTrue(selection.contains(120));
+        assertFalse(selection.contains(130));
+    }
+
+    @Test
+    public void keepsSelectionWhenEarlierDaysAreSelected() {
+        EpochDaySelection selection = new EpochDaySelection();
+        selection.set(10, 11);
+        selection.set(20, 20);
+        selection.set(-3, -3);
+
+        assertArrayEquals(new long[]{-3, 10, 11, 20}, selection.toEpochDays());
+        assertFalse(selection.contains(-4));
+    }
+
+    @Test
+    public void clearsBeforeFirstDay() {
+        EpochDaySelection selection = new EpochDaySelection();
+        selection.set(10, 12);
+        selection.clear(0, 5);
+        selection.clear(0, 10);
+
+        assertArrayEquals(new long[]{11, 12}, selection.toEpochDays());
+
+        selection.clear();
+        assertEquals(0, selection.size());
+    }
+}
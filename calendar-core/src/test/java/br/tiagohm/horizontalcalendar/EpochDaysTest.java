@@ -0,0 +1,65 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class EpochDaysTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Test
+    public void fieldsMatchGregorianCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(UTC);
+        calendar.clear();
+        calendar.set(1900, Calendar.JANUARY, 1);
+        long epochDay = EpochDays.of(1900, 1, 1);
+
+        for (int i = 0; i < 100000; i++, epochDay++) {
+            int year = calendar.get(Calendar.YEAR);
+            int month = calendar.get(Calendar.MONTH) + 1;
+            int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+
+            assertEquals(epochDay, EpochDays.of(year, month, dayOfMonth));
+            assertEquals(year, EpochDays.yearOf(epochDay));
+            assertEquals(month, EpochDays.monthOf(epochDay));
+            assertEquals(dayOfMonth, EpochDays.dayOfMonthOf(epochDay));
+            assertEquals(calendar.get(Calendar.DAY_OF_WEEK), EpochDays.dayOfWeekOf(epochDay));
+            assertEquals((year - 1970) * 12 + month - 1, EpochDays.epochMonthOf(epochDay));
+
+            calendar.add(Calendar.DATE, 1);
+        }
+    }
+
+    @Test
+    public void epochDayOfFirstDay() {
+        assertEquals(0, EpochDays.of(1970, 1, 1));
+        assertEquals(-1, EpochDays.of(1969, 12, 31));
+        assertEquals(EpochDays.of(2000, 3, 1), EpochDays.firstDayOfEpochMonth((2000 - 1970) * 12 + 2));
+        assertEquals(EpochDays.of(1969, 12, 1), EpochDays.firstDayOfEpochMonth(-1));
+    }
+
+    @Test
+    public void millisRoundTripWithDaylightSavingTime() {
+        //Midnight was skipped on some days when daylight saving time started
+        TimeZone timeZone = TimeZone.getTimeZone("America/Sao_Paulo");
+        long first = EpochDays.of(2010, 1, 1);
+        for (long epochDay = first; epochDay < first + 3650; epochDay++) {
+            long millis = EpochDays.toMillis(epochDay, timeZone);
+            assertEquals(epochDay, EpochDays.fromMillis(millis, timeZone));
+            assertEquals(epochDay - 1, EpochDays.fromMillis(millis - 1, timeZone));
+        }
+    }
+
+    @Test
+    public void floorDivision() {
+        assertEquals(-1, EpochDays.floorDiv(-1, 7));
+        assertEquals(0, EpochDays.floorDiv(6, 7));
+        assertEquals(6, EpochDays.floorMod(-1, 7));
+        assertEquals(-2, EpochDays.floorDiv(-8, 7));
+    }
+}
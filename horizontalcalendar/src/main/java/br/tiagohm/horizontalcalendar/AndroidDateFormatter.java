@@ -0,0 +1,19 @@
+package br.tiagohm.horizontalcalendar;
+
+import android.text.format.DateFormat;
+
+/**
+ * Formats the labels of {@link DateLabelCache} with {@link DateFormat}.
+ */
+final class AndroidDateFormatter implements DateLabelCache.Formatter {
+
+    static final AndroidDateFormatter INSTANCE = new AndroidDateFormatter();
+
+    private AndroidDateFormatter() {
+    }
+
+    @Override
+    public CharSequence format(String format, long timeInMillis) {
+        return DateFormat.format(format, timeInMillis);
+    }
+}
@@ -0,0 +1,294 @@
+package br.tiagohm.horizontalcalendar;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.View;
+
+/**
+ * Calendar cell that draws the month name, day number, day name and selector bar itself,
+ * with the same arrangement as {@code item_calendar.xml} but as a single view.
+ * <p>
+ * Changing a label only invalidates the cell. It is laid out again only when a text size or
+ * the visibility of a label changes, or when a label gets wider than the cell.
+ *
+ * @see HorizontalCalendar.Builder#drawDayCells(boolean)
+ */
+class DayCellView extends View {
+
+    static final int MAX_DAY_MARKERS = 3;
+
+    //Same margins and selector as item_calendar.xml, in DP
+    private static final float SPACING = 4;
+    private static final float SELECTOR_HEIGHT = 5;
+    private static final int SELECTOR_COLOR = 0xfff00f0f;
+    private static final float DAY_MARKER_RADIUS = 2;
+
+    private final Paint monthNamePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dayNumberPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dayNamePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint selectorPaint = new Paint();
+    private final Paint dayMarkerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+    private final DisplayMetrics displayMetrics;
+    private final float spacing;
+    private final float selectorHeight;
+    private final float dayMarkerRadius;
+
+    private CharSequence monthName = "";
+    private CharSequence dayNumber = "";
+    private CharSequence dayName = "";
+    private float monthNameWidth, dayNumberWidth, dayNameWidth;
+    //Distance from the top of each line to its baseline, and height of each line
+    private float monthNameAscent, dayNumberAscent, dayNameAscent;
+    private float monthNameHeight, dayNumberHeight, dayNameHeight;
+    private boolean monthNameVisible = true;
+    private boolean dayNameVisible = true;
+    private boolean selectorVisible = true;
+    private boolean dayMarkersVisible;
+    private int dayMarkers;
+
+    DayCellView(Context context) {
+        super(context);
+
+        displayMetrics = context.getResources().getDisplayMetrics();
+        spacing = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, SPACING, displayMetrics);
+        selectorHeight = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, SELECTOR_HEIGHT, displayMetrics);
+        dayMarkerRadius = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DAY_MARKER_RADIUS, displayMetrics);
+
+        monthNamePaint.setTextAlign(Paint.Align.CENTER);
+        dayNumberPaint.setTextAlign(Paint.Align.CENTER);
+        dayNumberPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        dayNamePaint.setTextAlign(Paint.Align.CENTER);
+        selectorPaint.setColor(SELECTOR_COLOR);
+
+        setTextSize(monthNamePaint, 14);
+        setTextSize(dayNumberPaint, 24);
+        setTextSize(dayNamePaint, 14);
+        measureLabels();
+    }
+
+    void setMonthName(CharSequence text) {
+        if (!monthName.equals(text)) {
+            monthName = text;
+            monthNameWidth = monthNamePaint.measureText(text, 0, text.length());
+            onTextChanged(monthNameWidth);
+        }
+    }
+
+    void setDayNumber(CharSequence text) {
+        if (!dayNumber.equals(text)) {
+            dayNumber = text;
+            dayNumberWidth = dayNumberPaint.measureText(text, 0, text.length());
+            onTextChanged(dayNumberWidth);
+        }
+    }
+
+    void setDayName(CharSequence text) {
+        if (!dayName.equals(text)) {
+            dayName = text;
+            dayNameWidth = dayNamePaint.measureText(text, 0, text.length());
+            onTextChanged(dayNameWidth);
+        }
+    }
+
+    void setTextColor(int color) {
+        monthNamePaint.setColor(color);
+        dayNumberPaint.setColor(color);
+        dayNamePaint.setColor(color);
+        dayMarkerPaint.setColor(color);
+        invalidate();
+    }
+
+    void setSelectorColor(int color) {
+        selectorPaint.setColor(color);
+        invalidate();
+    }
+
+    void setMonthNameTextSize(float textSizeSp) {
+        if (setTextSize(monthNamePaint, textSizeSp)) {
+            measureLabels();
+            requestLayout();
+        }
+    }
+
+    void setDayNumberTextSize(float textSizeSp) {
+        if (setTextSize(dayNumberPaint, textSizeSp)) {
+            measureLabels();
+            requestLayout();
+        }
+    }
+
+    void setDayNameTextSize(float textSizeSp) {
+        if (setTextSize(dayNamePaint, textSizeSp)) {
+            measureLabels();
+            requestLayout();
+        }
+    }
+
+    void setMonthNameVisible(boolean visible) {
+        if (monthNameVisible != visible) {
+            monthNameVisible = visible;
+            requestLayout();
+            invalidate();
+        }
+    }
+
+    void setDayNameVisible(boolean visible) {
+        if (dayNameVisible != visible) {
+            dayNameVisible = visible;
+            requestLayout();
+            invalidate();
+        }
+    }
+
+    boolean isMonthNameVisible() {
+        return monthNameVisible;
+    }
+
+    boolean isDayNameVisible() {
+        return dayNameVisible;
+    }
+
+    /**
+     * @param count number of dots to draw, up to {@link #MAX_DAY_MARKERS}
+     */
+    void setDayMarkers(int count) {
+        count = Math.min(count, MAX_DAY_MARKERS);
+        if (dayMarkers != count) {
+            dayMarkers = count;
+            invalidate();
+        }
+    }
+
+    /**
+     * The row of day markers keeps its space when there are no markers, so all cells have the same height.
+     */
+    void setDayMarkersVisible(boolean visible) {
+        if (dayMarkersVisible != visible) {
+            dayMarkersVisible = visible;
+            requestLayout();
+            invalidate();
+        }
+    }
+
+    /**
+     * The selector keeps its space when hidden, like an {@link View#INVISIBLE INVISIBLE} view.
+     */
+    void setSelectorVisible(boolean visible) {
+        if (selectorVisible != visible) {
+            selectorVisible = visible;
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        float contentWidth = dayNumberWidth;
+        if (monthNameVisible) {
+            contentWidth = Math.max(contentWidth, monthNameWidth);
+        }
+        if (dayNameVisible) {
+            contentWidth = Math.max(contentWidth, dayNameWidth);
+        }
+
+        int width = Math.max(getSuggestedMinimumWidth(),
+                getPaddingLeft() + getPaddingRight() + (int) Math.ceil(contentWidth));
+        int height = getPaddingTop() + getPaddingBottom() + (int) Math.ceil(getContentHeight());
+
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        float centerX = getPaddingLeft() + (getWidth() - getPaddingLeft() - getPaddingRight()) / 2f;
+        //Content is centered vertically, like gravity="center"
+        float top = getPaddingTop() + Math.max(0,
+                (getHeight() - getPaddingTop() - getPaddingBottom() - getContentHeight()) / 2f);
+
+        if (monthNameVisible) {
+            top += spacing;
+            canvas.drawText(monthName, 0, monthName.length(), centerX, top + monthNameAscent, monthNamePaint);
+            top += monthNameHeight;
+        }
+
+        top += spacing;
+        canvas.drawText(dayNumber, 0, dayNumber.length(), centerX, top + dayNumberAscent, dayNumberPaint);
+        top += dayNumberHeight;
+
+        if (dayNameVisible) {
+            top += spacing;
+            canvas.drawText(dayName, 0, dayName.length(), centerX, top + dayNameAscent, dayNamePaint);
+            top += dayNameHeight;
+        }
+
+        if (dayMarkersVisible) {
+            top += spacing;
+            //Dots one diameter apart, centered
+            float x = centerX - (dayMarkers - 1) * 2 * dayMarkerRadius;
+            for (int i = 0; i < dayMarkers; i++) {
+                canvas.drawCircle(x, top + dayMarkerRadius, dayMarkerRadius, dayMarkerPaint);
+                x += 4 * dayMarkerRadius;
+            }
+            top += 2 * dayMarkerRadius;
+        }
+
+        top += spacing;
+        if (selectorVisible) {
+            canvas.drawRect(0, top, getWidth(), top + selectorHeight, selectorPaint);
+        }
+    }
+
+    private float getContentHeight() {
+        float height = spacing + dayNumberHeight + spacing + selectorHeight;
+        if (monthNameVisible) {
+            height += spacing + monthNameHeight;
+        }
+        if (dayNameVisible) {
+            height += spacing + dayNameHeight;
+        }
+        if (dayMarkersVisible) {
+            height += spacing + 2 * dayMarkerRadius;
+        }
+        return height;
+    }
+
+    /**
+     * @return true if the text size changed
+     */
+    private boolean setTextSize(Paint paint, float textSizeSp) {
+        float textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, textSizeSp, displayMetrics);
+        if (paint.getTextSize() == textSize) {
+            return false;
+        }
+        paint.setTextSize(textSize);
+        return true;
+    }
+
+    private void measureLabels() {
+        monthNamePaint.getFontMetrics(fontMetrics);
+        monthNameAscent = -fontMetrics.top;
+        monthNameHeight = fontMetrics.bottom - fontMetrics.top;
+        monthNameWidth = monthNamePaint.measureText(monthName, 0, monthName.length());
+
+        dayNumberPaint.getFontMetrics(fontMetrics);
+        dayNumberAscent = -fontMetrics.top;
+        dayNumberHeight = fontMetrics.bottom - fontMetrics.top;
+        dayNumberWidth = dayNumberPaint.measureText(dayNumber, 0, dayNumber.length());
+
+        dayNamePaint.getFontMetrics(fontMetrics);
+        dayNameAscent = -fontMetrics.top;
+        dayNameHeight = fontMetrics.bottom - fontMetrics.top;
+        dayNameWidth = dayNamePaint.measureText(dayName, 0, dayName.length());
+    }
+
+    private void onTextChanged(float textWidth) {
+        if (textWidth > getWidth() - getPaddingLeft() - getPaddingRight()) {
+            requestLayout();
+        }
+        invalidate();
+    }
+}
@@ -0,0 +1,206 @@
+package br.tiagohm.horizontalcalendar;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Bounded LRU cache of the pages loaded from a {@link DayDataProvider}.
+ * <p>
+ * Pages are {@link #PAGE_SIZE} days aligned on epoch days, held in a few fixed slots, so looking a
+ * day up while binding is a scan of {@link #MAX_PAGES} longs without allocation. Except for
+ * {@link PageLoader#run()}, everything runs on the main thread.
+ */
+final class DayDataCache<T> {
+
+    static final int PAGE_SIZE = 32;
+    static final int MAX_PAGES = 8;
+    private static final String TAG = "HorizontalCalendar";
+
+    private final Callback callback;
+    private final DayDataProvider<T> provider;
+    private final Executor executor;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    //Slots, a slot is free if its last use is 0
+    private final long[] pages = new long[MAX_PAGES];
+    private final long[] lastUses = new long[MAX_PAGES];
+    private final boolean[] loading = new boolean[MAX_PAGES];
+    private final Object[][] data = new Object[MAX_PAGES][];
+    private final int[][] markers = new int[MAX_PAGES][];
+    private long useCount;
+
+    DayDataCache(Callback callback, DayDataProvider<T> provider, Executor executor) {
+        this.callback = callback;
+        this.provider = provider;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the marker of this day, or 0 if its page is not loaded yet, in which case it is requested
+     */
+    int getDayMarker(long epochDay) {
+        long page = EpochDays.floorDiv(epochDay, PAGE_SIZE);
+        int slot = request(page);
+        if ((slot == -1) || loading[slot]) {
+            return 0;
+        }
+        return markers[slot][(int) (epochDay - page * PAGE_SIZE)];
+    }
+
+    /**
+     * @return the loaded data of this day, or null if none or not loaded yet
+     */
+    Object getDayData(long epochDay) {
+        long page = EpochDays.floorDiv(epochDay, PAGE_SIZE);
+        int slot = find(page);
+        if ((slot == -1) || loading[slot]) {
+            return null;
+        }
+        return data[slot][(int) (epochDay - page * PAGE_SIZE)];
+    }
+
+    /**
+     * Drop the cached pages of these days, including pages that failed to load, so they are
+     * requested again the next time they are looked up. Pages being loaded are kept.
+     */
+    void invalidate(long firstEpochDay, long lastEpochDay) {
+        long firstPage = EpochDays.floorDiv(firstEpochDay, PAGE_SIZE);
+        long lastPage = EpochDays.floorDiv(lastEpochDay, PAGE_SIZE);
+        for (int slot = 0; slot < MAX_PAGES; slot++) {
+            if ((lastUses[slot] != 0) && !loading[slot] && (pages[slot] >= firstPage) && (pages[slot] <= lastPage)) {
+                lastUses[slot] = 0;
+                data[slot] = null;
+            }
+        }
+    }
+
+    /**
+     * Request the pages of these days, and the next page in the scroll direction.
+     *
+     * @param direction &gt; 0 when scrolling towards later dates, &lt; 0 towards earlier dates
+     */
+    void prefetch(long firstEpochDay, long lastEpochDay, int direction) {
+        long firstPage = EpochDays.floorDiv(firstEpochDay, PAGE_SIZE);
+        long lastPage = EpochDays.floorDiv(lastEpochDay, PAGE_SIZE);
+        for (long page = firstPage; page <= lastPage; page++) {
+            request(page);
+        }
+        if (direction > 0) {
+            request(lastPage + 1);
+        } else if (direction < 0) {
+            request(firstPage - 1);
+        }
+    }
+
+    /**
+     * Mark this page as the most recently used, loading it if it is not cached.
+     *
+     * @return the slot of this page, or -1 if all slots are loading
+     */
+    private int request(long page) {
+        int slot = find(page);
+        if (slot == -1) {
+            slot = evict();
+            if (slot == -1) {
+                return -1;
+            }
+            pages[slot] = page;
+            loading[slot] = true;
+            data[slot] = null;
+            executor.execute(new PageLoader(page));
+        }
+        lastUses[slot] = ++useCount;
+        return slot;
+    }
+
+    private int find(long page) {
+        for (int slot = 0; slot < MAX_PAGES; slot++) {
+            if ((lastUses[slot] != 0) && (pages[slot] == page)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a free slot, or else the least recently used slot that is not loading, or -1
+     */
+    private int evict() {
+        int leastRecentlyUsed = -1;
+        for (int slot = 0; slot < MAX_PAGES; slot++) {
+            if (lastUses[slot] == 0) {
+                return slot;
+            }
+            if (!loading[slot] && ((leastRecentlyUsed == -1) || (lastUses[slot] < lastUses[leastRecentlyUsed]))) {
+                leastRecentlyUsed = slot;
+            }
+        }
+        return leastRecentlyUsed;
+    }
+
+    private void onPageLoaded(long page, List<T> days) {
+        int slot = find(page);
+        if ((slot == -1) || !loading[slot]) {
+            return;
+        }
+
+        //A failed page is kept empty until invalidated, instead of being requested again by every bind
+        Object[] pageData = new Object[PAGE_SIZE];
+        int[] pageMarkers = markers[slot] != null ? markers[slot] : new int[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            T day = (days != null) && (i < days.size()) ? days.get(i) : null;
+            pageData[i] = day;
+            pageMarkers[i] = day != null ? provider.getDayMarker(day) : 0;
+        }
+        data[slot] = pageData;
+        markers[slot] = pageMarkers;
+        loading[slot] = false;
+
+        if (days != null) {
+            callback.onDayDataLoaded(page * PAGE_SIZE, PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Receives the pages once loaded, on the main thread.
+     */
+    interface Callback {
+
+        /**
+         * @param firstEpochDay the first day of the page
+         * @param count         the number of days in the page
+         */
+        void onDayDataLoaded(long firstEpochDay, int count);
+    }
+
+    private class PageLoader implements Runnable {
+
+        private final long page;
+
+        PageLoader(long page) {
+            this.page = page;
+        }
+
+        @Override
+        public void run() {
+            List<T> days;
+            try {
+                days = provider.loadDays(page * PAGE_SIZE, PAGE_SIZE);
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Failed to load the day data from epoch day " + page * PAGE_SIZE, e);
+                days = null;
+            }
+
+            final List<T> loadedDays = days;
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    onPageLoaded(page, loadedDays);
+                }
+            });
+        }
+    }
+}
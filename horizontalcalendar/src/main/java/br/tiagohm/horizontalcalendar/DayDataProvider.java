@@ -0,0 +1,35 @@
+package br.tiagohm.horizontalcalendar;
+
+import java.util.List;
+
+/**
+ * Loads data for the days of a {@link HorizontalCalendar}, such as availability or prices, a page of
+ * days at a time. Pages around the dates on screen, and the next page in the scroll direction,
+ * are loaded on the calendar's executor and kept in a bounded cache; cells update when their
+ * page arrives.
+ *
+ * @param <T> the data of a day
+ * @see HorizontalCalendar.Builder#dayDataProvider(DayDataProvider)
+ */
+public interface DayDataProvider<T> {
+
+    /**
+     * Called on the calendar's executor, never on the main thread.
+     *
+     * @param firstEpochDay the first day of the page, in days since January 1, 1970
+     * @param count         the number of days in the page
+     * @return the data of each day of the page, with null for days without data;
+     * may be shorter than {@code count}. If this throws, the page stays empty until
+     * {@link HorizontalCalendar#invalidateDayData(java.util.Date, java.util.Date)}.
+     */
+    List<T> loadDays(long firstEpochDay, int count);
+
+    /**
+     * Called on the main thread when a page arrives.
+     *
+     * @param data the data of a day, not null
+     * @return the marker to show under the day, 0 for none
+     * @see HorizontalCalendar#setDayMarker(java.util.Date, int)
+     */
+    int getDayMarker(T data);
+}
@@ -4,18 +4,21 @@ import android.annotation.TargetApi;
 import android.app.Activity;
 import android.graphics.drawable.Drawable;
 import android.os.AsyncTask;
+import android.os.Build;
 import android.os.Handler;
 import android.os.Message;
 import android.support.v7.widget.RecyclerView;
+import android.view.Choreographer;
 import android.view.View;
 
 import java.lang.ref.WeakReference;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
-import java.util.Locale;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -27,11 +30,28 @@ import java.util.Locale;
  */
 public final class HorizontalCalendar {
 
-    final RecyclerView.OnScrollListener onScrollListener = new HorizontalCalendarScrollListener();
+    //Number of dates loaded at a time in endless mode
+    static final int ENDLESS_PAGE_SIZE = 60;
+    //Most dates an endless calendar loads, which keeps its scroll range in pixels within an int
+    static final int ENDLESS_MAX_DATES = 100000;
+
+    /**
+     * The date in the center of the calendar is selected.
+     */
+    public static final int SELECTION_MODE_SINGLE = 0;
+    /**
+     * Tapping a date adds it to the selected dates, or removes it.
+     */
+    public static final int SELECTION_MODE_MULTIPLE = 1;
+    /**
+     * Tapping a date starts a range of selected dates, and tapping another one ends it.
+     */
+    public static final int SELECTION_MODE_RANGE = 2;
+    private static final long NO_EPOCH_DAY = Long.MIN_VALUE;
+
+    final HorizontalCalendarScrollListener onScrollListener = new HorizontalCalendarScrollListener();
     private final DateHandler handler;
-    private final Calendar startCalendar = Calendar.getInstance();
-    private final Calendar endCalendar = Calendar.getInstance();
-    private final Calendar dateCalendar = GregorianCalendar.getInstance();
+    private final TimeZone timeZone = TimeZone.getDefault();
     //RootView
     private final View rootView;
     private final int calendarId;
@@ -44,19 +64,47 @@ public final class HorizontalCalendar {
     private final boolean showMonthName;
     private final boolean showDayName;
     private final boolean showYearAndMonth;
+    private final boolean endless;
+    private final boolean drawDayCells;
+    private final boolean prepareDayCells;
+    private final boolean showDayMarkers;
+    private final EpochDayIntMap dayMarkers = new EpochDayIntMap();
+    private final EpochDayRanges disabledRanges = new EpochDayRanges();
+    private final int selectionMode;
+    private final EpochDaySelection selection = new EpochDaySelection();
+    //Bounds of the selected range in SELECTION_MODE_RANGE
+    private long rangeStartEpochDay = NO_EPOCH_DAY;
+    private long rangeEndEpochDay = NO_EPOCH_DAY;
+    private boolean rangeComplete;
+    //Null without a DayDataProvider
+    private final DayDataCache<?> dayDataCache;
+    private final HorizontalCalendarPool sharedPool;
+    private int preparedDayCellCount;
+    private final DateLabelCache labelCache;
+    //Null unless collecting metrics
+    private final HorizontalCalendarMetrics metrics;
+    private final HorizontalCalendarFrameListener frameListener;
+    //ScrollFrameMonitor, null without a frame listener or before API 16
+    private Object frameMonitor;
     //region private Fields
     HorizontalCalendarView calendarView;
     HorizontalCalendarAdapter mCalendarAdapter;
-    ArrayList<Date> mListDays;
+    DateSource dateSource;
     boolean loading;
+    private boolean loadCancelled;
+    private InitializeDatesList initializer;
+    private final Executor executor;
+    HorizontalCalendarLoadListener loadListener;
     //Interface events
     HorizontalCalendarListener calendarListener;
+    //Day last passed to HorizontalCalendarListener.onDateSelected
+    private long selectedEpochDay = NO_EPOCH_DAY;
     //Start & End Dates
     private Date dateStartCalendar;
     private Date dateEndCalendar;
+    private long startEpochDay;
+    private long endEpochDay;
     /* Format, Colors & Font Sizes*/
-    private SimpleDateFormat dateFormat;
-    private SimpleDateFormat dateYearFormat;
     private int textColorNormal, textColorSelected;
     private Drawable selectedDateBackground;
     private Integer selectorColor;
@@ -86,6 +134,24 @@ public final class HorizontalCalendar {
         this.showDayName = builder.showDayName;
         this.showMonthName = builder.showMonthName;
         this.showYearAndMonth = builder.showYearAndMonth;
+        this.dateSource = builder.dateSource;
+        this.endless = builder.endless;
+        this.drawDayCells = builder.drawDayCells;
+        this.prepareDayCells = builder.prepareDayCells;
+        this.showDayMarkers = builder.showDayMarkers;
+        this.selectionMode = builder.selectionMode;
+        this.sharedPool = builder.sharedPool;
+        this.executor = builder.executor;
+        this.loadListener = builder.loadListener;
+        this.metrics = builder.metrics;
+        this.frameListener = builder.frameListener;
+        this.dayDataCache = builder.dayDataProvider != null ? newDayDataCache(builder.dayDataProvider) : null;
+        if (sharedPool != null) {
+            this.labelCache = sharedPool.obtainLabelCache(formatDayName, formatDayNumber, formatMonth, formatYear, timeZone);
+        } else {
+            this.labelCache = new DateLabelCache(formatDayName, formatDayNumber, formatMonth, formatYear, timeZone,
+                    AndroidDateFormatter.INSTANCE);
+        }
 
         handler = new DateHandler(this, builder.defaultSelectedDate);
     }
@@ -93,20 +159,71 @@ public final class HorizontalCalendar {
     /* Init Calendar View */
     void loadHorizontalCalendar() {
 
-        dateFormat = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-        dateYearFormat = new SimpleDateFormat("MM/yyyy", Locale.getDefault());
-
-        mListDays = new ArrayList<>();
         calendarView = (HorizontalCalendarView) rootView.findViewById(calendarId);
         calendarView.setHasFixedSize(true);
         calendarView.setHorizontalScrollBarEnabled(false);
         calendarView.setHorizontalCalendar(this);
+        if (sharedPool != null) {
+            calendarView.setRecycledViewPool(sharedPool.getRecycledViewPool());
+        }
 
         HorizontalSnapHelper snapHelper = new HorizontalSnapHelper();
         snapHelper.attachToHorizontalCalendaar(this);
 
         hide();
-        new InitializeDatesList().execute();
+        startLoading();
+    }
+
+    private void startLoading() {
+        loading = true;
+        initializer = new InitializeDatesList();
+        executor.execute(initializer);
+    }
+
+    /**
+     * Stop loading the calendar, if it is still loading. Loading is cancelled when
+     * {@link HorizontalCalendarView} is detached from its window, and starts again
+     * if it is attached again.
+     */
+    public void cancelLoading() {
+        if (initializer != null) {
+            initializer.cancel();
+            initializer = null;
+            loadCancelled = true;
+            if (loadListener != null) {
+                loadListener.onLoadCancelled();
+            }
+        }
+    }
+
+    /**
+     * Called when {@link HorizontalCalendarView} is attached to its window
+     */
+    void onAttachedToWindow() {
+        if (loadCancelled) {
+            loadCancelled = false;
+            startLoading();
+        } else if (mCalendarAdapter != null) {
+            //A refresh cancelled on detach
+            onScrollListener.scheduleRefresh();
+        }
+    }
+
+    /**
+     * Called when {@link HorizontalCalendarView} is detached from its window
+     */
+    void onDetachedFromWindow() {
+        cancelLoading();
+        onScrollListener.cancelRefresh();
+    }
+
+    /**
+     * @return a source with all the days (or months) between start and end date, plus
+     * half of the dates on screen before and after them
+     */
+    private DateSource createDateSource(long startDay, long endDay) {
+        int shiftCells = numberOfDatesOnScreen / 2;
+        return CalendarDates.createDateSource(startDay, endDay, shiftCells, isShowYearAndMonth(), timeZone);
     }
 
     public HorizontalCalendarListener getCalendarListener() {
@@ -139,15 +256,26 @@ public final class HorizontalCalendar {
             handler.date = date;
             handler.immediate = immediate;
         } else {
+            if (endless) {
+                loadDatesUpTo(EpochDays.fromMillis(date.getTime(), timeZone));
+            }
+            int datePosition = positionOfDate(date);
+            if (isDisabled(datePosition)) {
+                datePosition = nearestEnabledPosition(datePosition);
+                if (datePosition != -1) {
+                    date = getDateAt(datePosition);
+                }
+            }
+
             if (immediate) {
-                int datePosition = positionOfDate(date);
                 centerToPositionWithNoAnimation(datePosition);
-                if (calendarListener != null) {
-                    calendarListener.onDateSelected(date, datePosition);
+                if (datePosition != -1) {
+                    selectedEpochDay = dateSource.getEpochDay(datePosition);
                 }
+                dispatchDateSelected(date, datePosition);
             } else {
                 calendarView.setSmoothScrollSpeed(HorizontalLayoutManager.SPEED_NORMAL);
-                centerCalendarToPosition(positionOfDate(date));
+                centerCalendarToPosition(datePosition);
             }
         }
     }
@@ -172,21 +300,12 @@ public final class HorizontalCalendar {
 
     private void centerToPositionWithNoAnimation(final int position) {
         if (position != -1) {
+            //The first cell on screen is half a screen before the centered one
             int shiftCells = numberOfDatesOnScreen / 2;
-            int centerItem = calendarView.getPositionOfCenterItem();
+            calendarView.getLayoutManager().scrollToPositionWithOffset(Math.max(0, position - shiftCells), 0);
 
-            if (position > centerItem) {
-                calendarView.scrollToPosition(position + shiftCells);
-            } else if (position < centerItem) {
-                calendarView.scrollToPosition(position - shiftCells);
-            }
-
-            calendarView.post(new Runnable() {
-                @Override
-                public void run() {
-                    mCalendarAdapter.notifyDataSetChanged();
-                }
-            });
+            //Move the selector once laid out, without binding every cell again
+            onScrollListener.scheduleRefresh();
         }
     }
 
@@ -208,10 +327,14 @@ public final class HorizontalCalendar {
     }
 
     /**
-     * @return the current selected date
+     * @return the current selected date, or null until the calendar is loaded and laid out
      */
     public Date getSelectedDate() {
-        return mListDays.get(calendarView.getPositionOfCenterItem());
+        int position = calendarView.getPositionOfCenterItem();
+        if ((dateSource == null) || (position == -1)) {
+            return null;
+        }
+        return dateSource.getDate(position);
     }
 
     /**
@@ -232,10 +355,488 @@ public final class HorizontalCalendar {
 
     /**
      * @param date The date to search for
-     * @return true if the calendar contains this date or false otherwise
+     * @return true if the calendar contains the day of this date or false otherwise
      */
     public boolean contains(Date date) {
-        return mListDays.contains(date);
+        return contains(date.getTime());
+    }
+
+    /**
+     * @param timeInMillis The date to search for, in milliseconds since January 1, 1970 UTC
+     * @return true if the calendar contains the day of this date or false otherwise, false until the calendar is loaded
+     */
+    public boolean contains(long timeInMillis) {
+        return (dateSource != null) && (dateSource.getPosition(EpochDays.fromMillis(timeInMillis, timeZone)) != -1);
+    }
+
+    /**
+     * @param timesInMillis The dates to search for, in milliseconds since January 1, 1970 UTC
+     * @return the position of the cell showing the day of each date, or -1 if the calendar does not contain it
+     * or is not loaded yet
+     */
+    public int[] positionsOf(long[] timesInMillis) {
+        int[] positions = new int[timesInMillis.length];
+        positionsOf(timesInMillis, positions);
+        return positions;
+    }
+
+    /**
+     * Same as {@link #positionsOf(long[])}, writing the positions to an existing array.
+     *
+     * @param timesInMillis The dates to search for, in milliseconds since January 1, 1970 UTC
+     * @param positions     receives the position of each date, must be at least as long as {@code timesInMillis}
+     * @throws IndexOutOfBoundsException if {@code positions} is shorter than {@code timesInMillis}
+     */
+    public void positionsOf(long[] timesInMillis, int[] positions) throws IndexOutOfBoundsException {
+        if (positions.length < timesInMillis.length) {
+            throw new IndexOutOfBoundsException("positions.length < timesInMillis.length");
+        }
+        if (dateSource == null) {
+            Arrays.fill(positions, 0, timesInMillis.length, -1);
+            return;
+        }
+        for (int i = 0; i < timesInMillis.length; i++) {
+            positions[i] = dateSource.getPosition(EpochDays.fromMillis(timesInMillis[i], timeZone));
+        }
+    }
+
+    /**
+     * Show a marker under the day of this date, such as the number of events on it.
+     *
+     * @param date  The date to mark
+     * @param count the number of dots to show, up to 3, or 0 to remove the marker
+     */
+    public void setDayMarker(Date date, int count) {
+        setDayMarkers(new long[]{date.getTime()}, new int[]{count});
+    }
+
+    /**
+     * Set the markers of many days at once. Only the cells whose marker changed are updated,
+     * in as few ranges as possible.
+     *
+     * @param timesInMillis The dates to mark, in milliseconds since January 1, 1970 UTC
+     * @param counts        the marker of each date, 0 to remove it
+     * @throws IndexOutOfBoundsException if {@code counts} is shorter than {@code timesInMillis}
+     */
+    public void setDayMarkers(long[] timesInMillis, int[] counts) throws IndexOutOfBoundsException {
+        if (counts.length < timesInMillis.length) {
+            throw new IndexOutOfBoundsException("counts.length < timesInMillis.length");
+        }
+
+        int[] positions = new int[timesInMillis.length];
+        int changed = 0;
+        for (int i = 0; i < timesInMillis.length; i++) {
+            long epochDay = EpochDays.fromMillis(timesInMillis[i], timeZone);
+            int count = Math.max(0, counts[i]);
+            if ((dayMarkers.put(epochDay, count) != count) && (dateSource != null)) {
+                int position = dateSource.getPosition(epochDay);
+                if (position != -1) {
+                    positions[changed++] = position;
+                }
+            }
+        }
+        notifyPositionsChanged(positions, changed, HorizontalCalendarAdapter.PAYLOAD_DAY_MARKERS);
+    }
+
+    /**
+     * Remove the markers of all days.
+     */
+    public void clearDayMarkers() {
+        int[] positions = new int[dayMarkers.size()];
+        int changed = 0;
+        if (dateSource != null) {
+            for (int i = 0; i < dayMarkers.size(); i++) {
+                int position = dateSource.getPosition(dayMarkers.keyAt(i));
+                if (position != -1) {
+                    positions[changed++] = position;
+                }
+            }
+        }
+        dayMarkers.clear();
+        notifyPositionsChanged(positions, changed, HorizontalCalendarAdapter.PAYLOAD_DAY_MARKERS);
+    }
+
+    /**
+     * @param date The date to search for
+     * @return the marker of the day of this date, or 0 if none
+     */
+    public int getDayMarker(Date date) {
+        return dayMarkers.get(EpochDays.fromMillis(date.getTime(), timeZone));
+    }
+
+    /**
+     * @param date The date to search for
+     * @return the data of the day of this date from the {@link DayDataProvider}, or null if none or not loaded yet
+     */
+    public Object getDayData(Date date) {
+        return dayDataCache != null ? dayDataCache.getDayData(EpochDays.fromMillis(date.getTime(), timeZone)) : null;
+    }
+
+    /**
+     * Load the data of these days from the {@link DayDataProvider} again, for example after it changed
+     * or failed to load. The cells of these days update when it arrives.
+     *
+     * @param startDate the first day to load again
+     * @param endDate   the last day to load again
+     */
+    public void invalidateDayData(Date startDate, Date endDate) {
+        if (dayDataCache == null) {
+            return;
+        }
+        long startDay = EpochDays.fromMillis(startDate.getTime(), timeZone);
+        long endDay = EpochDays.fromMillis(endDate.getTime(), timeZone);
+        long first = Math.min(startDay, endDay);
+        long last = Math.max(startDay, endDay);
+        dayDataCache.invalidate(first, last);
+        //Binding the cells requests the pages again
+        notifyDaysChanged(first, last, HorizontalCalendarAdapter.PAYLOAD_DAY_MARKERS);
+    }
+
+    /**
+     * @return the marker set for this day, or else the one from the {@link DayDataProvider}
+     */
+    int getDayMarkerOf(long epochDay) {
+        int marker = dayMarkers.get(epochDay);
+        if ((marker == 0) && (dayDataCache != null)) {
+            marker = dayDataCache.getDayMarker(epochDay);
+        }
+        return marker;
+    }
+
+    /**
+     * Update the cells of these days, after their data was loaded.
+     */
+    void onDayDataLoaded(long firstEpochDay, int count) {
+        notifyDaysChanged(firstEpochDay, firstEpochDay + count - 1, HorizontalCalendarAdapter.PAYLOAD_DAY_MARKERS);
+    }
+
+    /**
+     * Update the cells of the days from {@code firstEpochDay} to {@code lastEpochDay} that are in the calendar.
+     */
+    private void notifyDaysChanged(long firstEpochDay, long lastEpochDay, Object payload) {
+        if ((mCalendarAdapter == null) || (dateSource.getCount() == 0)) {
+            return;
+        }
+
+        //Positions grow with epoch days, so the days in the calendar are a single range
+        long first = Math.max(firstEpochDay, dateSource.getEpochDay(0));
+        long last = Math.min(lastEpochDay, dateSource.getEpochDay(dateSource.getCount() - 1));
+        if (first <= last) {
+            int firstPosition = dateSource.getPosition(first);
+            int lastPosition = dateSource.getPosition(last);
+            mCalendarAdapter.notifyItemRangeChanged(firstPosition, lastPosition - firstPosition + 1, payload);
+        }
+    }
+
+    /**
+     * Disable the days from {@code start} to {@code end}, both included. Disabled days are dimmed, and
+     * can't be selected: the calendar snaps to the nearest enabled day instead.
+     * Months are never disabled in {@link Builder#showYearAndMonth(boolean)} mode.
+     *
+     * @param start The first date to disable
+     * @param end   The last date to disable
+     */
+    public void addDisabledRange(Date start, Date end) {
+        long startDay = EpochDays.fromMillis(start.getTime(), timeZone);
+        long endDay = EpochDays.fromMillis(end.getTime(), timeZone);
+        disabledRanges.add(startDay, endDay);
+        notifyDaysChanged(Math.min(startDay, endDay), Math.max(startDay, endDay), HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+    }
+
+    /**
+     * Enable all days again.
+     */
+    public void clearDisabledRanges() {
+        for (int i = 0; i < disabledRanges.size(); i++) {
+            notifyDaysChanged(disabledRanges.startAt(i), disabledRanges.endAt(i), HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+        }
+        disabledRanges.clear();
+    }
+
+    /**
+     * @param date The date to search for
+     * @return true if the day of this date is disabled
+     */
+    public boolean isDisabled(Date date) {
+        return !showYearAndMonth && disabledRanges.contains(EpochDays.fromMillis(date.getTime(), timeZone));
+    }
+
+    boolean isDisabled(int position) {
+        return (position != -1) && !showYearAndMonth && disabledRanges.contains(dateSource.getEpochDay(position));
+    }
+
+    /**
+     * @return true if the date at this position is between the start and end dates, and is not disabled
+     */
+    boolean isSelectable(int position) {
+        return isInRange(dateSource.getEpochDay(position)) && !isDisabled(position);
+    }
+
+    /**
+     * @return one of {@link #SELECTION_MODE_SINGLE}, {@link #SELECTION_MODE_MULTIPLE} or {@link #SELECTION_MODE_RANGE}
+     */
+    public int getSelectionMode() {
+        return selectionMode;
+    }
+
+    /**
+     * @param date The date to search for
+     * @return true if the day of this date is selected, in {@link #SELECTION_MODE_MULTIPLE} or {@link #SELECTION_MODE_RANGE} mode
+     */
+    public boolean isDateSelected(Date date) {
+        return selection.contains(EpochDays.fromMillis(date.getTime(), timeZone));
+    }
+
+    boolean isSelected(int position) {
+        return selection.contains(dateSource.getEpochDay(position));
+    }
+
+    /**
+     * @return the selected dates in order, in {@link #SELECTION_MODE_MULTIPLE} or {@link #SELECTION_MODE_RANGE} mode
+     */
+    public List<Date> getSelectedDates() {
+        long[] epochDays = selection.toEpochDays();
+        List<Date> dates = new ArrayList<>(epochDays.length);
+        for (long epochDay : epochDays) {
+            dates.add(new Date(EpochDays.toMillis(epochDay, timeZone)));
+        }
+        return dates;
+    }
+
+    /**
+     * Add the day of this date to the selected dates, or remove it.
+     *
+     * @param date     The date to select or unselect
+     * @param selected true to select the date
+     * @throws IllegalStateException if the selection mode is not {@link #SELECTION_MODE_MULTIPLE}
+     */
+    public void setDateSelected(Date date, boolean selected) throws IllegalStateException {
+        if (selectionMode != SELECTION_MODE_MULTIPLE) {
+            throw new IllegalStateException("setDateSelected requires SELECTION_MODE_MULTIPLE");
+        }
+        setDaySelected(EpochDays.fromMillis(date.getTime(), timeZone), selected);
+    }
+
+    /**
+     * Select the days from {@code start} to {@code end}, both included, instead of the selected range.
+     *
+     * @param start The first date of the range
+     * @param end   The last date of the range
+     * @throws IllegalStateException if the selection mode is not {@link #SELECTION_MODE_RANGE}
+     */
+    public void selectRange(Date start, Date end) throws IllegalStateException {
+        if (selectionMode != SELECTION_MODE_RANGE) {
+            throw new IllegalStateException("selectRange requires SELECTION_MODE_RANGE");
+        }
+        long startDay = EpochDays.fromMillis(start.getTime(), timeZone);
+        long endDay = EpochDays.fromMillis(end.getTime(), timeZone);
+        setSelectedRange(Math.min(startDay, endDay), Math.max(startDay, endDay), true);
+    }
+
+    /**
+     * Unselect all dates, in {@link #SELECTION_MODE_MULTIPLE} or {@link #SELECTION_MODE_RANGE} mode.
+     */
+    public void clearSelection() {
+        long[] epochDays = selection.toEpochDays();
+        int[] positions = new int[epochDays.length];
+        int changed = 0;
+        if (dateSource != null) {
+            for (long epochDay : epochDays) {
+                int position = dateSource.getPosition(epochDay);
+                if (position != -1) {
+                    positions[changed++] = position;
+                }
+            }
+        }
+        selection.clear();
+        rangeStartEpochDay = NO_EPOCH_DAY;
+        rangeEndEpochDay = NO_EPOCH_DAY;
+        notifyPositionsChanged(positions, changed, HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+        if (epochDays.length > 0) {
+            dispatchSelectedDatesChanged();
+        }
+    }
+
+    /**
+     * Called when the date at this position is tapped, in {@link #SELECTION_MODE_MULTIPLE} or
+     * {@link #SELECTION_MODE_RANGE} mode.
+     */
+    void onDateTapped(int position) {
+        long epochDay = dateSource.getEpochDay(position);
+        if (selectionMode == SELECTION_MODE_MULTIPLE) {
+            setDaySelected(epochDay, !selection.contains(epochDay));
+        } else if ((rangeStartEpochDay == NO_EPOCH_DAY) || rangeComplete) {
+            setSelectedRange(epochDay, epochDay, false);
+        } else {
+            long first = Math.min(rangeStartEpochDay, epochDay);
+            long last = Math.max(rangeStartEpochDay, epochDay);
+            //A range can't go over disabled days, start a new one instead
+            if (disabledRanges.intersects(first, last)) {
+                setSelectedRange(epochDay, epochDay, false);
+            } else {
+                setSelectedRange(first, last, true);
+            }
+        }
+    }
+
+    private void setDaySelected(long epochDay, boolean selected) {
+        if (selection.contains(epochDay) == selected) {
+            return;
+        }
+        if (selected) {
+            selection.set(epochDay, epochDay);
+        } else {
+            selection.clear(epochDay, epochDay);
+        }
+        notifyDaysChanged(epochDay, epochDay, HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+        dispatchSelectedDatesChanged();
+    }
+
+    /**
+     * Select the days from {@code first} to {@code last}, updating only the cells of the days
+     * that are in one of the old and new ranges but not in both.
+     */
+    private void setSelectedRange(long first, long last, boolean complete) {
+        long oldFirst = rangeStartEpochDay;
+        long oldLast = rangeEndEpochDay;
+        rangeStartEpochDay = first;
+        rangeEndEpochDay = last;
+        rangeComplete = complete;
+        selection.clear();
+        selection.set(first, last);
+
+        if ((oldFirst == NO_EPOCH_DAY) || (oldLast < first) || (last < oldFirst)) {
+            if (oldFirst != NO_EPOCH_DAY) {
+                notifyDaysChanged(oldFirst, oldLast, HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+            }
+            notifyDaysChanged(first, last, HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+        } else {
+            if (oldFirst != first) {
+                notifyDaysChanged(Math.min(oldFirst, first), Math.max(oldFirst, first) - 1, HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+            }
+            if (oldLast != last) {
+                notifyDaysChanged(Math.min(oldLast, last) + 1, Math.max(oldLast, last), HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
+            }
+        }
+
+        dispatchSelectedDatesChanged();
+    }
+
+    @TargetApi(16)
+    private void addFrameMonitor() {
+        if (frameMonitor == null) {
+            frameMonitor = new ScrollFrameMonitor(calendarView.getContext(), frameListener);
+        }
+        //Loaded again when reattached
+        calendarView.removeOnScrollListener((ScrollFrameMonitor) frameMonitor);
+        calendarView.addOnScrollListener((ScrollFrameMonitor) frameMonitor);
+    }
+
+    /**
+     * Called when {@link HorizontalCalendarView} is flung
+     */
+    void onFling() {
+        if (frameMonitor != null) {
+            ((ScrollFrameMonitor) frameMonitor).onFling();
+        }
+    }
+
+    private void dispatchDateSelected(Date date, int position) {
+        if (calendarListener != null) {
+            calendarListener.onDateSelected(date, position);
+            if (metrics != null) {
+                metrics.onDateSelectedDispatched();
+            }
+        }
+    }
+
+    private void dispatchSelectedDatesChanged() {
+        if (calendarListener != null) {
+            calendarListener.onSelectedDatesChanged();
+            if (metrics != null) {
+                metrics.onSelectedDatesChangedDispatched();
+            }
+        }
+    }
+
+    /**
+     * Called by the snap helper when the calendar settles on a date. The listener is called once for
+     * each new date, and never for the padding dates or disabled dates.
+     */
+    void onDateSettled(int position) {
+        if ((position == -1) || !isSelectable(position)) {
+            return;
+        }
+
+        long epochDay = dateSource.getEpochDay(position);
+        if (epochDay != selectedEpochDay) {
+            selectedEpochDay = epochDay;
+            dispatchDateSelected(getDateAt(position), position);
+        }
+    }
+
+    /**
+     * @return the position of the enabled date closest to this disabled one, later dates first on ties,
+     * or -1 if there is none between the start and end dates
+     */
+    int nearestEnabledPosition(int position) {
+        long epochDay = CalendarDates.nearestEnabledDay(disabledRanges, dateSource.getEpochDay(position),
+                startEpochDay, endEpochDay);
+        return epochDay == Long.MIN_VALUE ? -1 : dateSource.getPosition(epochDay);
+    }
+
+    /**
+     * @return true if this day is between the start and end dates, or their months in
+     * {@link Builder#showYearAndMonth(boolean)} mode
+     */
+    private boolean isInRange(long epochDay) {
+        return CalendarDates.isInRange(epochDay, startEpochDay, endEpochDay, isShowYearAndMonth());
+    }
+
+    /**
+     * Load the day data around the dates on screen, ahead of the scroll direction.
+     */
+    private void prefetchDayData(int positionOfCenterItem, int direction) {
+        if ((dayDataCache == null) || (positionOfCenterItem == -1)) {
+            return;
+        }
+
+        int firstPosition = Math.max(0, positionOfCenterItem - numberOfDatesOnScreen / 2);
+        int lastPosition = Math.min(dateSource.getCount() - 1, positionOfCenterItem + numberOfDatesOnScreen / 2);
+        if (firstPosition <= lastPosition) {
+            dayDataCache.prefetch(dateSource.getEpochDay(firstPosition), dateSource.getEpochDay(lastPosition), direction);
+        }
+    }
+
+    private <T> DayDataCache<T> newDayDataCache(DayDataProvider<T> provider) {
+        DayDataCache.Callback callback = new DayDataCache.Callback() {
+            @Override
+            public void onDayDataLoaded(long firstEpochDay, int count) {
+                HorizontalCalendar.this.onDayDataLoaded(firstEpochDay, count);
+            }
+        };
+        return new DayDataCache<T>(callback, provider, executor);
+    }
+
+    /**
+     * Update the cells at these positions, merging consecutive positions into one range.
+     */
+    private void notifyPositionsChanged(int[] positions, int count, Object payload) {
+        //Not loaded yet, the cells show the change when first bound
+        if ((mCalendarAdapter == null) || (count == 0)) {
+            return;
+        }
+
+        Arrays.sort(positions, 0, count);
+        int i = 0;
+        while (i < count) {
+            int start = positions[i++];
+            int end = start;
+            while ((i < count) && (positions[i] <= end + 1)) {
+                end = positions[i++];
+            }
+            mCalendarAdapter.notifyItemRangeChanged(start, end - start + 1, payload);
+        }
     }
 
     //region Getters & Setters
@@ -247,6 +848,10 @@ public final class HorizontalCalendar {
         return dateEndCalendar;
     }
 
+    public DateSource getDateSource() {
+        return dateSource;
+    }
+
     public String getFormatDayName() {
         return formatDayName;
     }
@@ -263,6 +868,10 @@ public final class HorizontalCalendar {
         return formatMonth;
     }
 
+    DateLabelCache getLabelCache() {
+        return labelCache;
+    }
+
     public boolean isShowDayName() {
         return showDayName;
     }
@@ -275,6 +884,42 @@ public final class HorizontalCalendar {
         return showYearAndMonth;
     }
 
+    public boolean isEndless() {
+        return endless;
+    }
+
+    public boolean isShowDayMarkers() {
+        return showDayMarkers;
+    }
+
+    public boolean isDrawDayCells() {
+        return drawDayCells;
+    }
+
+    /**
+     * @return number of date cells created so far, including the ones prepared by
+     * {@link Builder#prepareDayCells(boolean)}
+     */
+    public int getCreatedDayCellCount() {
+        return mCalendarAdapter == null ? 0 : mCalendarAdapter.getCreatedViewHolderCount();
+    }
+
+    /**
+     * @return the metrics collected by this calendar, or null if built without
+     * {@link Builder#metrics(HorizontalCalendarMetrics)}
+     */
+    public HorizontalCalendarMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return number of date cells prepared before the calendar was shown. Any cell created
+     * after those was created on the main thread while laying out or scrolling.
+     */
+    public int getPreparedDayCellCount() {
+        return preparedDayCellCount;
+    }
+
     public int getNumberOfDatesOnScreen() {
         return numberOfDatesOnScreen;
     }
@@ -337,66 +982,103 @@ public final class HorizontalCalendar {
     //endregion
 
     /**
-     * @return position of date in Calendar, or -1 if date does not exist
+     * @return position of date in Calendar, or -1 if date does not exist or the calendar is not loaded yet
      */
     public int positionOfDate(Date date) {
-        dateCalendar.setTime(date);
-        startCalendar.setTime(dateStartCalendar);
-        endCalendar.setTime(dateEndCalendar);
-
-        if (isShowYearAndMonth()) {
-            startCalendar.set(Calendar.DATE, 1);
-            startCalendar.set(Calendar.HOUR_OF_DAY, 0);
-            startCalendar.set(Calendar.MINUTE, 0);
-            startCalendar.set(Calendar.SECOND, 0);
-            endCalendar.set(Calendar.DATE, endCalendar.getActualMaximum(Calendar.DATE));
-            endCalendar.set(Calendar.HOUR_OF_DAY, 23);
-            endCalendar.set(Calendar.MINUTE, 59);
-            endCalendar.set(Calendar.SECOND, 59);
+        if (dateSource == null) {
+            return -1;
         }
+        long epochDay = EpochDays.fromMillis(date.getTime(), timeZone);
         //Está fora do intervalo.
-        if (date.after(endCalendar.getTime()) || date.before(startCalendar.getTime())) {
+        if (!isInRange(epochDay)) {
             return -1;
         }
-        //Inicio.
-        else if (isDatesDaysEquals(date, dateStartCalendar)) {
-            return 0;
+
+        return dateSource.getPosition(epochDay);
+    }
+
+    /**
+     * In endless mode, load the pages of dates up to this day at once. Days that would take the
+     * calendar over {@link #ENDLESS_MAX_DATES} are not loaded.
+     */
+    private void loadDatesUpTo(long epochDay) {
+        if ((dateSource == null) || (dateSource.getPosition(epochDay) != -1)) {
+            return;
+        }
+
+        long firstEpochDay = dateSource.getEpochDay(0);
+        long lastEpochDay = dateSource.getEpochDay(dateSource.getCount() - 1);
+        boolean before = epochDay < firstEpochDay;
+        long days = before ? firstEpochDay - epochDay : epochDay - lastEpochDay;
+        //Also keeps far dates out of the month arithmetic
+        if (days > ENDLESS_MAX_DATES) {
+            return;
         }
-        //Fim.
-        else if (isDatesDaysEquals(date, dateEndCalendar)) {
-            return mListDays.size() - 1;
+
+        long dates;
+        if (isShowYearAndMonth()) {
+            dates = before ? EpochDays.epochMonthOf(firstEpochDay) - EpochDays.epochMonthOf(epochDay)
+                    : EpochDays.epochMonthOf(epochDay) - EpochDays.epochMonthOf(lastEpochDay);
+        } else {
+            dates = days;
         }
-        //Calcular posicao para mes e ano.
-        else if (isShowYearAndMonth()) {
-            int diffYear = dateCalendar.get(Calendar.YEAR) - startCalendar.get(Calendar.YEAR);
-            int diffMonth = diffYear * 12 + dateCalendar.get(Calendar.MONTH) - startCalendar.get(Calendar.MONTH);
-            int position = diffMonth + 2;
-            return position;
+        int pages = (int) ((dates + ENDLESS_PAGE_SIZE - 1) / ENDLESS_PAGE_SIZE);
+        if (canExtendDates(pages * ENDLESS_PAGE_SIZE)) {
+            extendDates(before ? pages * ENDLESS_PAGE_SIZE : 0, before ? 0 : pages * ENDLESS_PAGE_SIZE);
         }
-        //Calcular posicao para dia e mes.
-        else {
-            startCalendar.set(Calendar.HOUR_OF_DAY, 0);
-            startCalendar.set(Calendar.MINUTE, 0);
-            startCalendar.set(Calendar.SECOND, 0);
-            dateCalendar.set(Calendar.HOUR_OF_DAY, 23);
-            dateCalendar.set(Calendar.MINUTE, 59);
-            dateCalendar.set(Calendar.SECOND, 59);
+    }
 
-            long diff = dateCalendar.getTimeInMillis() - startCalendar.getTimeInMillis(); //result in millis
-            long days = (diff / (24 * 60 * 60 * 1000));
+    /**
+     * @return true if this many dates can be added to an endless calendar
+     */
+    boolean canExtendDates(int dates) {
+        return dateSource.getCount() + dates <= ENDLESS_MAX_DATES;
+    }
+
+    /**
+     * Add dates before and after the loaded dates of an endless calendar. The calendar keeps
+     * showing the same dates when dates are added before them.
+     *
+     * @param before number of dates to add before the first date
+     * @param after  number of dates to add after the last date
+     */
+    void extendDates(int before, int after) {
+        ((ExtendableDateSource) dateSource).extend(before, after);
+        onDatesExtended(before, after);
+    }
 
-            int position = (int) days + 2;
+    private void onDatesExtended(int before, int after) {
+        updateEndlessRange();
 
-            return position;
+        if (onScrollListener.lastSelectedItem != -1) {
+            onScrollListener.lastSelectedItem += before;
+        }
+
+        if (before > 0) {
+            mCalendarAdapter.notifyItemRangeInserted(0, before);
+        }
+        if (after > 0) {
+            mCalendarAdapter.notifyItemRangeInserted(dateSource.getCount() - after, after);
         }
     }
 
+    /**
+     * All loaded dates can be selected in endless mode.
+     */
+    private void updateEndlessRange() {
+        dateStartCalendar = dateSource.getDate(0);
+        dateEndCalendar = dateSource.getDate(dateSource.getCount() - 1);
+        startEpochDay = dateSource.getEpochDay(0);
+        endEpochDay = dateSource.getEpochDay(dateSource.getCount() - 1);
+    }
+
     /**
      * @return true if dates are equal
      */
     public boolean isDatesDaysEquals(Date date1, Date date2) {
-        return isShowYearAndMonth() ? dateYearFormat.format(date1).equals(dateYearFormat.format(date2)) :
-                dateFormat.format(date1).equals(dateFormat.format(date2));
+        long epochDay1 = EpochDays.fromMillis(date1.getTime(), timeZone);
+        long epochDay2 = EpochDays.fromMillis(date2.getTime(), timeZone);
+        return CalendarDates.isSameDate(epochDay1, epochDay2, isShowYearAndMonth());
     }
 
     public static class Builder {
@@ -425,6 +1107,18 @@ public final class HorizontalCalendar {
         boolean showDayName = true;
         boolean showYearAndMonth = false;
         Date defaultSelectedDate;
+        DateSource dateSource;
+        boolean endless = false;
+        boolean drawDayCells = false;
+        boolean prepareDayCells = false;
+        boolean showDayMarkers = false;
+        int selectionMode = SELECTION_MODE_SINGLE;
+        DayDataProvider<?> dayDataProvider;
+        HorizontalCalendarPool sharedPool;
+        Executor executor;
+        HorizontalCalendarLoadListener loadListener;
+        HorizontalCalendarMetrics metrics;
+        HorizontalCalendarFrameListener frameListener;
 
         /**
          * @param rootView pass the rootView for the Fragment where HorizontalCalendar is attached
@@ -459,6 +1153,19 @@ public final class HorizontalCalendar {
             return this;
         }
 
+        /**
+         * Use a custom source for the dates of the calendar. By default, a {@link DayDateSource}
+         * (or a {@link MonthDateSource} when {@link #showYearAndMonth(boolean)} is set) is created
+         * from the start and end dates, padded with half of {@link #datesNumberOnScreen(int)}
+         * dates on each side so the first and last dates can be centered.
+         *
+         * @param dateSource the source of dates
+         */
+        public Builder dateSource(DateSource dateSource) {
+            this.dateSource = dateSource;
+            return this;
+        }
+
         public Builder datesNumberOnScreen(int numberOfItemsOnScreen) {
             this.numberOfDatesOnScreen = numberOfItemsOnScreen;
             return this;
@@ -560,11 +1267,138 @@ public final class HorizontalCalendar {
             return this;
         }
 
+        /**
+         * Keep a row under each day for its marker.
+         *
+         * @param value true to show day markers
+         * @see HorizontalCalendar#setDayMarker(Date, int)
+         */
+        public Builder showDayMarkers(boolean value) {
+            showDayMarkers = value;
+            return this;
+        }
+
+        /**
+         * @param mode {@link HorizontalCalendar#SELECTION_MODE_SINGLE} (default), {@link HorizontalCalendar#SELECTION_MODE_MULTIPLE}
+         *             or {@link HorizontalCalendar#SELECTION_MODE_RANGE}
+         * @see HorizontalCalendarListener#onSelectedDatesChanged()
+         */
+        public Builder selectionMode(int mode) {
+            this.selectionMode = mode;
+            return this;
+        }
+
+        /**
+         * Load data for the days on screen, and for the next ones in the scroll direction, from this
+         * provider. Each day shows the marker of its data, see {@link #showDayMarkers(boolean)}.
+         *
+         * @param provider the provider of the day data
+         * @see HorizontalCalendar#getDayData(Date)
+         */
+        public Builder dayDataProvider(DayDataProvider<?> provider) {
+            this.dayDataProvider = provider;
+            return this;
+        }
+
+        /**
+         * Load more dates as the user scrolls near either end of the calendar, or selects a date
+         * out of the loaded ones, up to 100000 dates. Start and end dates only set the dates loaded at first.
+         *
+         * @param value true to scroll endlessly
+         */
+        public Builder endless(boolean value) {
+            endless = value;
+            return this;
+        }
+
+        /**
+         * Draw each date cell as a single view instead of inflating {@code item_calendar.xml},
+         * which is cheaper to create and lay out, especially with many dates on screen.
+         *
+         * @param value true to draw the date cells
+         */
+        public Builder drawDayCells(boolean value) {
+            drawDayCells = value;
+            return this;
+        }
+
+        /**
+         * Create the date cells for twice the dates on screen before the calendar is shown, so the
+         * first scroll reuses them instead of creating new cells. Cells drawn with
+         * {@link #drawDayCells(boolean)} are created off the main thread while the calendar is loading;
+         * inflated cells are created on the main thread, before the first frame.
+         *
+         * @param value true to prepare the date cells
+         * @see HorizontalCalendar#getCreatedDayCellCount()
+         */
+        public Builder prepareDayCells(boolean value) {
+            prepareDayCells = value;
+            return this;
+        }
+
+        /**
+         * Share date cells and labels with other calendars built with the same pool.
+         *
+         * @param pool the pool to share
+         */
+        public Builder sharedPool(HorizontalCalendarPool pool) {
+            this.sharedPool = pool;
+            return this;
+        }
+
+        /**
+         * Set the executor that loads the calendar, by default {@link AsyncTask#THREAD_POOL_EXECUTOR}.
+         *
+         * @param executor executor to load the calendar off the main thread
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param listener listener to follow the loading of the calendar
+         */
+        public Builder loadListener(HorizontalCalendarLoadListener listener) {
+            this.loadListener = listener;
+            return this;
+        }
+
+        /**
+         * Collect counters of the cells created and bound, of the selection changes and of the
+         * time the calendar takes to show up. Off by default.
+         *
+         * @param metrics the metrics to update, can be shared by several calendars
+         * @see HorizontalCalendar#getMetrics()
+         */
+        public Builder metrics(HorizontalCalendarMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Monitor the frames drawn while the calendar scrolls, on API 16 and later. The frames are
+         * only followed while scrolling.
+         *
+         * @param listener listener of the frame pacing of each scroll
+         */
+        public Builder frameListener(HorizontalCalendarFrameListener listener) {
+            this.frameListener = listener;
+            return this;
+        }
+
         /**
          * @return Instance of {@link HorizontalCalendar} initiated with builder settings
+         * @throws IllegalStateException if the calendar is endless and its date source is not an {@link ExtendableDateSource}
          */
-        public HorizontalCalendar build() {
+        public HorizontalCalendar build() throws IllegalStateException {
             initDefaultValues();
+            if (endless && (dateSource != null) && !(dateSource instanceof ExtendableDateSource)) {
+                throw new IllegalStateException("An endless calendar requires an ExtendableDateSource");
+            }
+            if (metrics != null) {
+                metrics.onBuild();
+            }
             HorizontalCalendar horizontalCalendar = new HorizontalCalendar(this);
             horizontalCalendar.loadHorizontalCalendar();
             return horizontalCalendar;
@@ -601,11 +1435,20 @@ public final class HorizontalCalendar {
             if (defaultSelectedDate == null) {
                 defaultSelectedDate = new Date();
             }
+            if (executor == null) {
+                executor = AsyncTask.THREAD_POOL_EXECUTOR;
+            }
+            if (dayDataProvider != null) {
+                showDayMarkers = true;
+            }
         }
     }
 
     private static class DateHandler extends Handler {
 
+        static final int MSG_PROGRESS = 1;
+        static final int MSG_LOADED = 2;
+
         private final WeakReference<HorizontalCalendar> horizontalCalendar;
         public Date date = null;
         public boolean immediate = true;
@@ -618,98 +1461,223 @@ public final class HorizontalCalendar {
         @Override
         public void handleMessage(Message msg) {
             HorizontalCalendar calendar = horizontalCalendar.get();
-            if (calendar != null) {
+            if ((calendar == null) || (msg.obj != calendar.initializer)) {
+                //Cancelled
+                return;
+            }
+
+            if (msg.what == MSG_PROGRESS) {
+                if (calendar.loadListener != null) {
+                    calendar.loadListener.onLoadProgress(msg.arg1, msg.arg2);
+                }
+            } else if (msg.what == MSG_LOADED) {
+                calendar.initializer.onLoaded();
+                calendar.initializer = null;
                 calendar.loading = false;
                 if (date != null) {
                     calendar.selectDate(date, immediate);
                 }
-
+                if (calendar.loadListener != null) {
+                    calendar.loadListener.onLoadFinished();
+                }
             }
         }
     }
 
-    private class InitializeDatesList extends AsyncTask<Void, Void, Void> {
+    /**
+     * Loads the dates on {@link Builder#executor(Executor)}, then hands them to the main thread
+     * through {@link DateHandler}.
+     */
+    private class InitializeDatesList implements Runnable {
+
+        //Inflating is not thread safe, so only drawn cells are prepared off the main thread
+        private final boolean prepareOffMainThread = prepareDayCells && drawDayCells;
+        private final int steps = prepareOffMainThread ? 1 + 2 * numberOfDatesOnScreen : 1;
+        private volatile boolean cancelled;
+        //Loaded off the main thread, handed to the calendar by onLoaded()
+        private long startDay;
+        private long endDay;
+        private DateSource source;
+        private HorizontalCalendarAdapter adapter;
+        private HorizontalCalendarAdapter.DayViewHolder[] preparedViewHolders;
 
         InitializeDatesList() {
         }
 
-        @Override
-        protected void onPreExecute() {
-            loading = true;
-            super.onPreExecute();
+        void cancel() {
+            cancelled = true;
         }
 
         @Override
-        protected Void doInBackground(Void... params) {
-            //ArrayList of dates is set with all the dates between
-            //start and end date
-            GregorianCalendar calendar = new GregorianCalendar();
-
-            calendar.setTime(dateStartCalendar);
-            if (isShowYearAndMonth()) {
-                calendar.set(Calendar.DATE, 1);
-                calendar.add(Calendar.MONTH, -(numberOfDatesOnScreen / 2));
-            } else {
-                calendar.add(Calendar.DATE, -(numberOfDatesOnScreen / 2));
-            }
-            Date dateStartBefore = calendar.getTime();
-            calendar.setTime(dateEndCalendar);
-            if (isShowYearAndMonth()) {
-                calendar.set(Calendar.DATE, 1);
-                calendar.add(Calendar.MONTH, numberOfDatesOnScreen / 2);
-            } else {
-                calendar.add(Calendar.DATE, numberOfDatesOnScreen / 2);
-            }
-            Date dateEndAfter = calendar.getTime();
-
-            Date date = dateStartBefore;
-            while (!date.after(dateEndAfter)) {
-                mListDays.add(date);
-                calendar.setTime(date);
-                if (isShowYearAndMonth()) {
-                    calendar.add(Calendar.MONTH, 1);
-                } else {
-                    calendar.add(Calendar.DATE, 1);
+        public void run() {
+            startDay = EpochDays.fromMillis(dateStartCalendar.getTime(), timeZone);
+            endDay = EpochDays.fromMillis(dateEndCalendar.getTime(), timeZone);
+            source = (dateSource != null) ? dateSource : createDateSource(startDay, endDay);
+            publishProgress(1);
+
+            if (prepareOffMainThread) {
+                adapter = new HorizontalCalendarAdapter(calendarView, source);
+                preparedViewHolders = new HorizontalCalendarAdapter.DayViewHolder[2 * numberOfDatesOnScreen];
+                for (int i = 0; i < preparedViewHolders.length; i++) {
+                    if (cancelled) {
+                        return;
+                    }
+                    preparedViewHolders[i] = adapter.prepareViewHolder(calendarView);
+                    publishProgress(i + 2);
                 }
-                date = calendar.getTime();
             }
 
-            return null;
+            if (!cancelled) {
+                handler.obtainMessage(DateHandler.MSG_LOADED, this).sendToTarget();
+            }
         }
 
-        @Override
-        protected void onPostExecute(Void aVoid) {
-            super.onPostExecute(aVoid);
+        private void publishProgress(int step) {
+            if (!cancelled && (loadListener != null)) {
+                Message message = handler.obtainMessage(DateHandler.MSG_PROGRESS, this);
+                message.arg1 = step;
+                message.arg2 = steps;
+                message.sendToTarget();
+            }
+        }
 
-            mCalendarAdapter = new HorizontalCalendarAdapter(calendarView, mListDays);
+        /**
+         * Called on the main thread once the dates are loaded
+         */
+        void onLoaded() {
+            startEpochDay = startDay;
+            endEpochDay = endDay;
+            dateSource = source;
+            if (endless) {
+                updateEndlessRange();
+            }
+
+            mCalendarAdapter = (adapter != null) ? adapter : new HorizontalCalendarAdapter(calendarView, dateSource);
             mCalendarAdapter.setHasStableIds(true);
             calendarView.setAdapter(mCalendarAdapter);
-            calendarView.setLayoutManager(new HorizontalLayoutManager(calendarView.getContext(), false));
+            //Later width changes update it when the calendar is measured
+            mCalendarAdapter.updateCellWidth(calendarView.getWidth());
+            HorizontalLayoutManager layoutManager = new HorizontalLayoutManager();
+            calendarView.setLayoutManager(layoutManager);
+
+            if (sharedPool != null) {
+                //Give the cells back to the pool when this calendar goes away
+                layoutManager.setRecycleChildrenOnDetach(true);
+                sharedPool.ensureCapacity(mCalendarAdapter.getItemViewType(0), 2 * numberOfDatesOnScreen);
+            }
+
+            //Inflated cells are prepared before the first frame instead
+            if (prepareDayCells && (preparedViewHolders == null)) {
+                preparedViewHolders = new HorizontalCalendarAdapter.DayViewHolder[2 * numberOfDatesOnScreen];
+                for (int i = 0; i < preparedViewHolders.length; i++) {
+                    preparedViewHolders[i] = mCalendarAdapter.prepareViewHolder(calendarView);
+                }
+            }
+
+            //An unshared pool is cleared when the adapter is set
+            if (preparedViewHolders != null) {
+                RecyclerView.RecycledViewPool pool = calendarView.getRecycledViewPool();
+                if (sharedPool == null) {
+                    pool.setMaxRecycledViews(preparedViewHolders[0].getItemViewType(), preparedViewHolders.length);
+                }
+                for (HorizontalCalendarAdapter.DayViewHolder holder : preparedViewHolders) {
+                    pool.putRecycledView(holder);
+                }
+                preparedDayCellCount = preparedViewHolders.length;
+                if (metrics != null) {
+                    metrics.onViewHoldersPrepared(preparedViewHolders.length);
+                }
+            }
 
             show();
-            handler.sendMessage(new Message());
+            if (metrics != null) {
+                metrics.onShown();
+            }
             calendarView.addOnScrollListener(onScrollListener);
+            if ((frameListener != null) && (Build.VERSION.SDK_INT >= 16)) {
+                addFrameMonitor();
+            }
         }
     }
 
+    /**
+     * Refreshes the selected item at most once per frame, however many scroll events arrive.
+     */
     private class HorizontalCalendarScrollListener extends RecyclerView.OnScrollListener {
 
-        final Runnable selectedItemRefresher = new SelectedItemRefresher();
+        private final Runnable selectedItemRefresher = new SelectedItemRefresher();
         int lastSelectedItem = -1;
+        private boolean refreshScheduled;
+        //Sign of the last horizontal scroll
+        private int scrollDirection;
+        //Choreographer.FrameCallback, API 16+
+        private Object frameCallback;
 
         HorizontalCalendarScrollListener() {
         }
 
         @Override
         public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            if (dx != 0) {
+                scrollDirection = dx > 0 ? 1 : -1;
+            }
             //On Scroll, agenda is refresh to update background colors
-            post(selectedItemRefresher);
+            scheduleRefresh();
 
             if (calendarListener != null) {
                 calendarListener.onCalendarScroll(calendarView, dx, dy);
             }
         }
 
+        void scheduleRefresh() {
+            if (refreshScheduled) {
+                return;
+            }
+            refreshScheduled = true;
+
+            if (Build.VERSION.SDK_INT >= 16) {
+                postFrameCallback();
+            } else {
+                post(selectedItemRefresher);
+            }
+        }
+
+        /**
+         * Drop the scheduled refresh, so a detached calendar is not refreshed.
+         */
+        void cancelRefresh() {
+            if (!refreshScheduled) {
+                return;
+            }
+            refreshScheduled = false;
+
+            if (Build.VERSION.SDK_INT >= 16) {
+                removeFrameCallback();
+            } else {
+                calendarView.removeCallbacks(selectedItemRefresher);
+            }
+        }
+
+        @TargetApi(16)
+        private void removeFrameCallback() {
+            if (frameCallback != null) {
+                Choreographer.getInstance().removeFrameCallback((Choreographer.FrameCallback) frameCallback);
+            }
+        }
+
+        @TargetApi(16)
+        private void postFrameCallback() {
+            if (frameCallback == null) {
+                frameCallback = new Choreographer.FrameCallback() {
+                    @Override
+                    public void doFrame(long frameTimeNanos) {
+                        selectedItemRefresher.run();
+                    }
+                };
+            }
+            Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+        }
+
         private class SelectedItemRefresher implements Runnable {
 
             SelectedItemRefresher() {
@@ -717,17 +1685,22 @@ public final class HorizontalCalendar {
 
             @Override
             public void run() {
+                refreshScheduled = false;
+
                 final int positionOfCenterItem = calendarView.getPositionOfCenterItem();
-                if ((lastSelectedItem == -1) || (lastSelectedItem != positionOfCenterItem)) {
+                //Other selection modes don't highlight the center date
+                if ((selectionMode == SELECTION_MODE_SINGLE)
+                        && ((lastSelectedItem == -1) || (lastSelectedItem != positionOfCenterItem))) {
                     //On Scroll, agenda is refresh to update background colors
                     //mCalendarAdapter.notifyItemRangeChanged(getSelectedDatePosition() - 2, 5, "UPDATE_SELECTOR");
-                    mCalendarAdapter.notifyItemChanged(positionOfCenterItem, "UPDATE_SELECTOR");
+                    mCalendarAdapter.notifyItemChanged(positionOfCenterItem, HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
                     if (lastSelectedItem != -1) {
-                        mCalendarAdapter.notifyItemChanged(lastSelectedItem, "UPDATE_SELECTOR");
+                        mCalendarAdapter.notifyItemChanged(lastSelectedItem, HorizontalCalendarAdapter.PAYLOAD_SELECTOR);
                     }
                     lastSelectedItem = positionOfCenterItem;
                 }
+                prefetchDayData(positionOfCenterItem, scrollDirection);
             }
         }
     }
-}
\ No newline at end of file
+}
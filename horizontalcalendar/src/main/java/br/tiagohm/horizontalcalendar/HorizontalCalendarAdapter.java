@@ -1,20 +1,15 @@
 package br.tiagohm.horizontalcalendar;
 
 import android.content.Context;
-import android.graphics.Point;
+import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.support.v7.widget.RecyclerView;
-import android.text.format.DateFormat;
 import android.util.TypedValue;
-import android.view.Display;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.WindowManager;
 import android.widget.TextView;
 
-import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 
@@ -28,136 +23,151 @@ import java.util.List;
  */
 class HorizontalCalendarAdapter extends RecyclerView.Adapter<HorizontalCalendarAdapter.DayViewHolder> {
 
+    static final int VIEW_TYPE_LAYOUT = 0;
+    static final int VIEW_TYPE_DRAWN = 1;
+    //Payloads of partial binds
+    static final String PAYLOAD_SELECTOR = "UPDATE_SELECTOR";
+    static final String PAYLOAD_DAY_MARKERS = "UPDATE_DAY_MARKERS";
+
     private final Context context;
-    private final Calendar startCalendar = Calendar.getInstance();
-    private final Calendar endCalendar = Calendar.getInstance();
-    private ArrayList<Date> datesList;
+    private DateSource dateSource;
     private int widthCell;
     private HorizontalCalendar horizontalCalendar;
     private int numberOfDates;
     private HorizontalCalendarView horizontalCalendarView;
+    private boolean extensionPending;
+    private int createdViewHolderCount;
+    //Set while creating cells off the main thread
+    private boolean preparing;
+    private final Runnable prependPage = new Runnable() {
+        @Override
+        public void run() {
+            extensionPending = false;
+            horizontalCalendar.extendDates(HorizontalCalendar.ENDLESS_PAGE_SIZE, 0);
+        }
+    };
+    private final Runnable appendPage = new Runnable() {
+        @Override
+        public void run() {
+            extensionPending = false;
+            horizontalCalendar.extendDates(0, HorizontalCalendar.ENDLESS_PAGE_SIZE);
+        }
+    };
 
 
-    HorizontalCalendarAdapter(HorizontalCalendarView horizontalCalendarView, ArrayList<Date> datesList) {
+    HorizontalCalendarAdapter(HorizontalCalendarView horizontalCalendarView, DateSource dateSource) {
         this.horizontalCalendarView = horizontalCalendarView;
         this.context = horizontalCalendarView.getContext();
-        this.datesList = datesList;
+        this.dateSource = dateSource;
         this.horizontalCalendar = horizontalCalendarView.getHorizontalCalendar();
         this.numberOfDates = horizontalCalendar.getNumberOfDatesOnScreen();
-        calculateCellWidth();
     }
 
     @Override
-    public DayViewHolder onCreateViewHolder(ViewGroup viewGroup, int position) {
-        View convertView = LayoutInflater.from(context).inflate(R.layout.item_calendar, viewGroup, false);
-
-        convertView.setMinimumWidth(widthCell);
+    public DayViewHolder onCreateViewHolder(ViewGroup viewGroup, int viewType) {
+        View convertView;
+        if (viewType == VIEW_TYPE_DRAWN) {
+            convertView = new DayCellView(context);
+            convertView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+                    ViewGroup.LayoutParams.WRAP_CONTENT));
+        } else {
+            convertView = LayoutInflater.from(context).inflate(R.layout.item_calendar, viewGroup, false);
+        }
 
-        final DayViewHolder holder = new DayViewHolder(convertView);
-        final Integer selectorColor = horizontalCalendar.getSelectorColor();
-        if (selectorColor != null) {
-            holder.selectionView.setBackgroundColor(selectorColor);
-        }
-
-        holder.rootView.setOnClickListener(new View.OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                if (holder.getAdapterPosition() == -1)
-                    return;
-
-                Date date = datesList.get(holder.getAdapterPosition());
-
-                startCalendar.setTime(horizontalCalendar.getDateStartCalendar());
-                endCalendar.setTime(horizontalCalendar.getDateEndCalendar());
-
-                if (horizontalCalendar.isShowYearAndMonth()) {
-                    startCalendar.set(Calendar.DATE, 1);
-                    startCalendar.set(Calendar.HOUR_OF_DAY, 0);
-                    startCalendar.set(Calendar.MINUTE, 0);
-                    startCalendar.set(Calendar.SECOND, 0);
-                    endCalendar.set(Calendar.DATE, endCalendar.getActualMaximum(Calendar.DATE));
-                    endCalendar.set(Calendar.HOUR_OF_DAY, 23);
-                    endCalendar.set(Calendar.MINUTE, 59);
-                    endCalendar.set(Calendar.SECOND, 59);
-                }
-
-                if (!date.before(startCalendar.getTime())
-                        && !date.after(endCalendar.getTime())) {
-                    horizontalCalendarView.setSmoothScrollSpeed(HorizontalLayoutManager.SPEED_SLOW);
-                    horizontalCalendar.centerCalendarToPosition(holder.getAdapterPosition());
-                }
-            }
-        });
-
-        holder.rootView.setOnLongClickListener(new View.OnLongClickListener() {
-            @Override
-            public boolean onLongClick(View v) {
-                Date date = datesList.get(holder.getAdapterPosition());
-                HorizontalCalendarListener calendarListener = horizontalCalendar.getCalendarListener();
-                if ((calendarListener != null) && !date.before(horizontalCalendar.getDateStartCalendar())
-                        && !date.after(horizontalCalendar.getDateEndCalendar())) {
-                    return calendarListener.onDateLongClicked(date, holder.getAdapterPosition());
-                }
-                return false;
-            }
-        });
+        DayViewHolder holder = new DayViewHolder(convertView);
+        createdViewHolderCount++;
+        HorizontalCalendarMetrics metrics = horizontalCalendar.getMetrics();
+        if ((metrics != null) && !preparing) {
+            metrics.onViewHolderCreated();
+        }
 
         return holder;
     }
 
+    /**
+     * Called when the date cell at this position is clicked
+     */
+    void onDateClicked(int position) {
+        if (!horizontalCalendar.isSelectable(position)) {
+            return;
+        }
+        if (horizontalCalendar.getSelectionMode() != HorizontalCalendar.SELECTION_MODE_SINGLE) {
+            horizontalCalendar.onDateTapped(position);
+        } else {
+            horizontalCalendarView.setSmoothScrollSpeed(HorizontalLayoutManager.SPEED_SLOW);
+            horizontalCalendar.centerCalendarToPosition(position);
+        }
+    }
+
+    /**
+     * Called when the date cell at this position is long clicked
+     */
+    boolean onDateLongClicked(int position) {
+        HorizontalCalendarListener calendarListener = horizontalCalendar.getCalendarListener();
+        if ((calendarListener != null) && horizontalCalendar.isSelectable(position)) {
+            return calendarListener.onDateLongClicked(dateSource.getDate(position), position);
+        }
+        return false;
+    }
+
     @Override
     public void onBindViewHolder(DayViewHolder holder, int position) {
-        Date day = datesList.get(position);
-        int selectedItemPosition = horizontalCalendar.getSelectedDatePosition();
+        HorizontalCalendarMetrics metrics = horizontalCalendar.getMetrics();
+        long start = (metrics != null) ? System.nanoTime() : 0;
 
-        // Selected Day
-        if (position == selectedItemPosition) {
-            holder.txtDayNumber.setTextColor(horizontalCalendar.getTextColorSelected());
-            holder.txtMonthName.setTextColor(horizontalCalendar.getTextColorSelected());
-            holder.txtDayName.setTextColor(horizontalCalendar.getTextColorSelected());
-            if (Build.VERSION.SDK_INT >= 16) {
-                holder.layoutBackground.setBackground(horizontalCalendar.getSelectedDateBackground());
-            } else {
-                holder.layoutBackground.setBackgroundDrawable(horizontalCalendar.getSelectedDateBackground());
-            }
-            holder.selectionView.setVisibility(View.VISIBLE);
+        bindDate(holder, position);
+
+        if (metrics != null) {
+            metrics.onFullBind(System.nanoTime() - start);
         }
-        // Unselected Days
-        else {
-            holder.txtDayNumber.setTextColor(horizontalCalendar.getTextColorNormal());
-            holder.txtMonthName.setTextColor(horizontalCalendar.getTextColorNormal());
-            holder.txtDayName.setTextColor(horizontalCalendar.getTextColorNormal());
-            if (Build.VERSION.SDK_INT >= 16) {
-                holder.layoutBackground.setBackground(null);
-            } else {
-                holder.layoutBackground.setBackgroundDrawable(null);
-            }
-            holder.selectionView.setVisibility(View.INVISIBLE);
+    }
+
+    private void bindDate(DayViewHolder holder, int position) {
+        loadMoreDatesIfNeeded(position);
+
+        long epochDay = dateSource.getEpochDay(position);
+        DateLabelCache labelCache = horizontalCalendar.getLabelCache();
+
+        //The holder may come from another calendar sharing the same pool.
+        holder.adapter = this;
+        holder.setMinimumWidth(widthCell);
+        Integer selectorColor = horizontalCalendar.getSelectorColor();
+        if (selectorColor != null) {
+            holder.setSelectorColor(selectorColor);
         }
 
+        bindSelection(holder, position);
+
         if (horizontalCalendar.isShowYearAndMonth()) {
-            holder.txtDayNumber.setText(DateFormat.format(horizontalCalendar.getFormatMonth(), day).toString());
-            holder.txtMonthName.setText(DateFormat.format(horizontalCalendar.getFormatYear(), day).toString());
+            holder.setDayNumber(labelCache.getMonth(epochDay));
+            holder.setMonthName(labelCache.getYear(epochDay));
+            holder.setMonthNameVisibility(View.VISIBLE);
         } else {
-            holder.txtDayNumber.setText(DateFormat.format(horizontalCalendar.getFormatDayNumber(), day).toString());
+            holder.setDayNumber(labelCache.getDayNumber(epochDay));
             if (horizontalCalendar.isShowMonthName()) {
-                holder.txtMonthName.setText(DateFormat.format(horizontalCalendar.getFormatMonth(), day).toString());
-                holder.txtMonthName.setTextSize(TypedValue.COMPLEX_UNIT_SP,
-                        horizontalCalendar.getTextSizeMonthName());
+                holder.setMonthName(labelCache.getMonth(epochDay));
+                holder.setMonthNameTextSize(horizontalCalendar.getTextSizeMonthName());
+                holder.setMonthNameVisibility(View.VISIBLE);
             } else {
-                holder.txtMonthName.setVisibility(View.GONE);
+                holder.setMonthNameVisibility(View.GONE);
             }
         }
 
-        holder.txtDayNumber.setTextSize(TypedValue.COMPLEX_UNIT_SP,
-                horizontalCalendar.getTextSizeDayNumber());
+        holder.setDayNumberTextSize(horizontalCalendar.getTextSizeDayNumber());
 
         if (!horizontalCalendar.isShowYearAndMonth() && horizontalCalendar.isShowDayName()) {
-            holder.txtDayName.setText(DateFormat.format(horizontalCalendar.getFormatDayName(), day).toString());
-            holder.txtDayName.setTextSize(TypedValue.COMPLEX_UNIT_SP,
-                    horizontalCalendar.getTextSizeDayName());
+            holder.setDayName(labelCache.getDayName(epochDay));
+            holder.setDayNameTextSize(horizontalCalendar.getTextSizeDayName());
+            holder.setDayNameVisibility(View.VISIBLE);
         } else {
-            holder.txtDayName.setVisibility(View.GONE);
+            holder.setDayNameVisibility(View.GONE);
+        }
+
+        if (horizontalCalendar.isShowDayMarkers()) {
+            holder.setDayMarkersVisibility(View.VISIBLE);
+            bindDayMarkers(holder, position);
+        } else {
+            holder.setDayMarkersVisibility(View.GONE);
         }
     }
 
@@ -167,86 +177,395 @@ class HorizontalCalendarAdapter extends RecyclerView.Adapter<HorizontalCalendarA
             onBindViewHolder(holder, position);
             return;
         }
+        HorizontalCalendarMetrics metrics = horizontalCalendar.getMetrics();
+        long start = (metrics != null) ? System.nanoTime() : 0;
 
-        int selectedItemPosition = horizontalCalendar.getSelectedDatePosition();
-
-        // Selected Day
-        if (position == selectedItemPosition) {
-            holder.txtDayNumber.setTextColor(horizontalCalendar.getTextColorSelected());
-            holder.txtMonthName.setTextColor(horizontalCalendar.getTextColorSelected());
-            holder.txtDayName.setTextColor(horizontalCalendar.getTextColorSelected());
-            if (Build.VERSION.SDK_INT >= 16) {
-                holder.layoutBackground.setBackground(horizontalCalendar.getSelectedDateBackground());
+        for (int i = 0; i < payloads.size(); i++) {
+            if (PAYLOAD_DAY_MARKERS.equals(payloads.get(i))) {
+                bindDayMarkers(holder, position);
             } else {
-                holder.layoutBackground.setBackgroundDrawable(horizontalCalendar.getSelectedDateBackground());
+                bindSelection(holder, position);
             }
-            holder.selectionView.setVisibility(View.VISIBLE);
+        }
+
+        if (metrics != null) {
+            metrics.onPayloadBind(System.nanoTime() - start);
+        }
+    }
+
+    private void bindDayMarkers(DayViewHolder holder, int position) {
+        holder.setDayMarkers(horizontalCalendar.getDayMarkerOf(dateSource.getEpochDay(position)));
+    }
+
+    private void bindSelection(DayViewHolder holder, int position) {
+        boolean selected;
+        if (horizontalCalendar.getSelectionMode() == HorizontalCalendar.SELECTION_MODE_SINGLE) {
+            selected = position == horizontalCalendar.getSelectedDatePosition();
+        } else {
+            selected = horizontalCalendar.isSelected(position);
+        }
+
+        // Selected Day
+        if (selected) {
+            holder.setTextColor(horizontalCalendar.getTextColorSelected());
+            holder.setBackground(horizontalCalendar.getSelectedDateBackground());
+            holder.setSelectorVisibility(View.VISIBLE);
         }
         // Unselected Days
         else {
-            holder.txtDayNumber.setTextColor(horizontalCalendar.getTextColorNormal());
-            holder.txtMonthName.setTextColor(horizontalCalendar.getTextColorNormal());
-            holder.txtDayName.setTextColor(horizontalCalendar.getTextColorNormal());
-            if (Build.VERSION.SDK_INT >= 16) {
-                holder.layoutBackground.setBackground(null);
-            } else {
-                holder.layoutBackground.setBackgroundDrawable(null);
-            }
-            holder.selectionView.setVisibility(View.INVISIBLE);
+            holder.setTextColor(horizontalCalendar.getTextColorNormal());
+            holder.setBackground(null);
+            holder.setSelectorVisibility(View.INVISIBLE);
         }
 
+        holder.setDisabled(horizontalCalendar.isDisabled(position));
     }
 
     @Override
     public int getItemCount() {
-        return datesList.size();
+        return dateSource.getCount();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return horizontalCalendar.isDrawDayCells() ? VIEW_TYPE_DRAWN : VIEW_TYPE_LAYOUT;
     }
 
     @Override
     public long getItemId(int position) {
-        return position;
+        //Stable across dates added before the first date
+        return dateSource.getEpochDay(position);
     }
 
     public Date getItem(int position) {
-        return datesList.get(position);
+        return dateSource.getDate(position);
     }
 
     /**
-     * calculate each item width depends on {@link HorizontalCalendar#numberOfDatesOnScreen}
+     * Create a view holder ahead of time, so the first scroll doesn't have to create it.
+     * Drawn cells can be created off the main thread since they are not attached yet; inflated
+     * cells can't, {@link LayoutInflater} and its factories are not thread safe.
+     *
+     * @param parent the view the holder will be attached to
      */
-    private void calculateCellWidth() {
+    DayViewHolder prepareViewHolder(ViewGroup parent) {
+        preparing = true;
+        try {
+            return createViewHolder(parent, getItemViewType(0));
+        } finally {
+            preparing = false;
+        }
+    }
 
-        Display display = ((WindowManager) context.getSystemService(Context.WINDOW_SERVICE)).getDefaultDisplay();
-        Point size = new Point();
-        int widthScreen;
+    /**
+     * @return width of each date cell, in pixels
+     */
+    int getCellWidth() {
+        return widthCell;
+    }
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR2) {
-            display.getSize(size);
+    /**
+     * @return number of view holders created by this adapter, including prepared ones
+     */
+    int getCreatedViewHolderCount() {
+        return createdViewHolderCount;
+    }
 
-            widthScreen = size.x;
-        } else {
-            widthScreen = display.getWidth();
+    /**
+     * In endless mode, load a page of dates when binding a date near either end of the calendar,
+     * up to {@link HorizontalCalendar#ENDLESS_MAX_DATES}. Dates can't be added while RecyclerView
+     * is binding, so it is posted.
+     */
+    private void loadMoreDatesIfNeeded(int position) {
+        if (!horizontalCalendar.isEndless() || extensionPending) {
+            return;
         }
 
-        widthCell = widthScreen / numberOfDates;
+        if (!horizontalCalendar.canExtendDates(HorizontalCalendar.ENDLESS_PAGE_SIZE)) {
+            return;
+        }
+        if (position < numberOfDates) {
+            extensionPending = true;
+            horizontalCalendarView.post(prependPage);
+        } else if (position >= getItemCount() - numberOfDates) {
+            extensionPending = true;
+            horizontalCalendarView.post(appendPage);
+        }
     }
 
-    static class DayViewHolder extends RecyclerView.ViewHolder {
+    /**
+     * Calculate each item width from the width of the calendar and {@link HorizontalCalendar#numberOfDatesOnScreen}.
+     * Attached cells are resized in place; recycled ones get the new width when bound again.
+     *
+     * @param calendarWidth width of the calendar, including its padding
+     */
+    void updateCellWidth(int calendarWidth) {
+        int width = calendarWidth - horizontalCalendarView.getPaddingLeft() - horizontalCalendarView.getPaddingRight();
+        int cellWidth = Math.max(0, width) / numberOfDates;
+        if (cellWidth == widthCell) {
+            return;
+        }
+
+        widthCell = cellWidth;
+        for (int i = 0; i < horizontalCalendarView.getChildCount(); i++) {
+            View child = horizontalCalendarView.getChildAt(i);
+            ((DayViewHolder) horizontalCalendarView.getChildViewHolder(child)).setMinimumWidth(cellWidth);
+        }
+    }
+
+    /**
+     * Holds either the views of {@code item_calendar.xml} or a {@link DayCellView}.
+     * <p>
+     * Remembers the state applied to its views, so binding skips the setters (and the layout
+     * and invalidation they cause) when nothing changed.
+     * <p>
+     * Holders only refer to the adapter that last bound them, so calendars can share a
+     * {@link RecyclerView.RecycledViewPool RecycledViewPool}.
+     */
+    static class DayViewHolder extends RecyclerView.ViewHolder
+            implements View.OnClickListener, View.OnLongClickListener {
+        private static final float DISABLED_ALPHA = 0.3f;
+        //Text of txtDayMarkers for each number of dots
+        private static final String[] DAY_MARKERS = {"", "\u2022", "\u2022 \u2022", "\u2022 \u2022 \u2022"};
+
         TextView txtDayNumber;
         TextView txtDayName;
         TextView txtMonthName;
+        TextView txtDayMarkers;
         View selectionView;
         View layoutBackground;
         View rootView;
+        //Null if inflated from item_calendar.xml
+        DayCellView cellView;
+        HorizontalCalendarAdapter adapter;
+        //Last applied state
+        private int minimumWidth;
+        private boolean selectorColorApplied;
+        private int selectorColor;
+        private boolean textColorApplied;
+        private int textColor;
+        private boolean backgroundApplied;
+        private Drawable background;
+        //In SP, 0 if not applied
+        private float dayNumberTextSize;
+        private float dayNameTextSize;
+        private float monthNameTextSize;
+        private int dayMarkers;
+        private boolean disabled;
 
         public DayViewHolder(View rootView) {
             super(rootView);
             this.rootView = rootView;
-            txtDayNumber = (TextView) rootView.findViewById(R.id.dayNumber);
-            txtDayName = (TextView) rootView.findViewById(R.id.dayName);
-            txtMonthName = (TextView) rootView.findViewById(R.id.monthName);
-            layoutBackground = rootView.findViewById(R.id.layoutBackground);
-            selectionView = rootView.findViewById(R.id.selection_view);
+            if (rootView instanceof DayCellView) {
+                cellView = (DayCellView) rootView;
+                layoutBackground = rootView;
+            } else {
+                txtDayNumber = (TextView) rootView.findViewById(R.id.dayNumber);
+                txtDayName = (TextView) rootView.findViewById(R.id.dayName);
+                txtMonthName = (TextView) rootView.findViewById(R.id.monthName);
+                txtDayMarkers = (TextView) rootView.findViewById(R.id.dayMarkers);
+                layoutBackground = rootView.findViewById(R.id.layoutBackground);
+                selectionView = rootView.findViewById(R.id.selection_view);
+            }
+
+            rootView.setOnClickListener(this);
+            rootView.setOnLongClickListener(this);
+        }
+
+        @Override
+        public void onClick(View v) {
+            if ((adapter == null) || (getAdapterPosition() == -1))
+                return;
+
+            adapter.onDateClicked(getAdapterPosition());
+        }
+
+        @Override
+        public boolean onLongClick(View v) {
+            if ((adapter == null) || (getAdapterPosition() == -1))
+                return false;
+
+            return adapter.onDateLongClicked(getAdapterPosition());
+        }
+
+        void setMinimumWidth(int width) {
+            if (minimumWidth != width) {
+                rootView.setMinimumWidth(width);
+                minimumWidth = width;
+            }
+        }
+
+        void setSelectorColor(int color) {
+            if (selectorColorApplied && (selectorColor == color)) {
+                return;
+            }
+            if (cellView != null) {
+                cellView.setSelectorColor(color);
+            } else {
+                selectionView.setBackgroundColor(color);
+            }
+            selectorColor = color;
+            selectorColorApplied = true;
+        }
+
+        void setTextColor(int color) {
+            if (textColorApplied && (textColor == color)) {
+                return;
+            }
+            if (cellView != null) {
+                cellView.setTextColor(color);
+            } else {
+                txtDayNumber.setTextColor(color);
+                txtMonthName.setTextColor(color);
+                txtDayName.setTextColor(color);
+                txtDayMarkers.setTextColor(color);
+            }
+            textColor = color;
+            textColorApplied = true;
+        }
+
+        void setBackground(Drawable drawable) {
+            if (backgroundApplied && (background == drawable)) {
+                return;
+            }
+            if (Build.VERSION.SDK_INT >= 16) {
+                layoutBackground.setBackground(drawable);
+            } else {
+                layoutBackground.setBackgroundDrawable(drawable);
+            }
+            background = drawable;
+            backgroundApplied = true;
+        }
+
+        void setDisabled(boolean disabled) {
+            if (this.disabled != disabled) {
+                rootView.setAlpha(disabled ? DISABLED_ALPHA : 1);
+                this.disabled = disabled;
+            }
+        }
+
+        void setDayNumber(CharSequence text) {
+            if (cellView != null) {
+                cellView.setDayNumber(text);
+            } else {
+                setText(txtDayNumber, text);
+            }
+        }
+
+        void setDayName(CharSequence text) {
+            if (cellView != null) {
+                cellView.setDayName(text);
+            } else {
+                setText(txtDayName, text);
+            }
+        }
+
+        void setMonthName(CharSequence text) {
+            if (cellView != null) {
+                cellView.setMonthName(text);
+            } else {
+                setText(txtMonthName, text);
+            }
+        }
+
+        /**
+         * @param count number of dots to show, up to {@link DayCellView#MAX_DAY_MARKERS}; less than 0 shows none,
+         *              as markers may come from a {@link DayDataProvider}
+         */
+        void setDayMarkers(int count) {
+            count = Math.max(0, Math.min(count, DayCellView.MAX_DAY_MARKERS));
+            if (dayMarkers == count) {
+                return;
+            }
+            if (cellView != null) {
+                cellView.setDayMarkers(count);
+            } else {
+                setText(txtDayMarkers, DAY_MARKERS[count]);
+            }
+            dayMarkers = count;
+        }
+
+        void setDayNumberTextSize(float textSizeSp) {
+            if (dayNumberTextSize == textSizeSp) {
+                return;
+            }
+            if (cellView != null) {
+                cellView.setDayNumberTextSize(textSizeSp);
+            } else {
+                txtDayNumber.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSizeSp);
+            }
+            dayNumberTextSize = textSizeSp;
+        }
+
+        void setDayNameTextSize(float textSizeSp) {
+            if (dayNameTextSize == textSizeSp) {
+                return;
+            }
+            if (cellView != null) {
+                cellView.setDayNameTextSize(textSizeSp);
+            } else {
+                txtDayName.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSizeSp);
+            }
+            dayNameTextSize = textSizeSp;
+        }
+
+        void setMonthNameTextSize(float textSizeSp) {
+            if (monthNameTextSize == textSizeSp) {
+                return;
+            }
+            if (cellView != null) {
+                cellView.setMonthNameTextSize(textSizeSp);
+            } else {
+                txtMonthName.setTextSize(TypedValue.COMPLEX_UNIT_SP, textSizeSp);
+            }
+            monthNameTextSize = textSizeSp;
+        }
+
+        void setDayNameVisibility(int visibility) {
+            if (cellView != null) {
+                cellView.setDayNameVisible(visibility == View.VISIBLE);
+            } else {
+                setVisibility(txtDayName, visibility);
+            }
+        }
+
+        void setMonthNameVisibility(int visibility) {
+            if (cellView != null) {
+                cellView.setMonthNameVisible(visibility == View.VISIBLE);
+            } else {
+                setVisibility(txtMonthName, visibility);
+            }
+        }
+
+        void setDayMarkersVisibility(int visibility) {
+            if (cellView != null) {
+                cellView.setDayMarkersVisible(visibility == View.VISIBLE);
+            } else {
+                setVisibility(txtDayMarkers, visibility);
+            }
+        }
+
+        void setSelectorVisibility(int visibility) {
+            if (cellView != null) {
+                cellView.setSelectorVisible(visibility == View.VISIBLE);
+            } else {
+                setVisibility(selectionView, visibility);
+            }
+        }
+
+        private static void setText(TextView textView, CharSequence text) {
+            CharSequence currentText = textView.getText();
+            //Labels from DateLabelCache are the same instance for the same text.
+            if ((currentText == text) || ((currentText != null) && currentText.equals(text))) {
+                return;
+            }
+            textView.setText(text);
+        }
+
+        private static void setVisibility(View view, int visibility) {
+            if (view.getVisibility() != visibility) {
+                view.setVisibility(visibility);
+            }
         }
     }
 }
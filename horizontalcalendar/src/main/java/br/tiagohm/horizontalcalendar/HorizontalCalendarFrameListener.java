@@ -0,0 +1,20 @@
+package br.tiagohm.horizontalcalendar;
+
+/**
+ * Receives the frame pacing of each scroll of a {@link HorizontalCalendar}, from the moment it
+ * starts moving until it is idle again, to find out which devices and ranges drop frames.
+ * Called on the main thread, on API 16 and later only.
+ *
+ * @see HorizontalCalendar.Builder#frameListener(HorizontalCalendarFrameListener)
+ */
+public interface HorizontalCalendarFrameListener {
+
+    /**
+     * @param frames            number of frames drawn while scrolling
+     * @param droppedFrames     number of frames missed between them, at the refresh rate of the display
+     * @param longestFrameNanos longest time between two frames, in nanoseconds
+     * @param distance          distance scrolled, in pixels, in both directions
+     * @param flung             true if the calendar was flung, rather than only dragged or scrolled to a date
+     */
+    void onScrollFrames(int frames, int droppedFrames, long longestFrameNanos, int distance, boolean flung);
+}
@@ -13,4 +13,13 @@ public abstract class HorizontalCalendarListener {
         return false;
     }
 
+    /**
+     * Called when dates are selected or unselected, in {@link HorizontalCalendar#SELECTION_MODE_MULTIPLE}
+     * or {@link HorizontalCalendar#SELECTION_MODE_RANGE} mode.
+     *
+     * @see HorizontalCalendar#getSelectedDates()
+     */
+    public void onSelectedDatesChanged() {
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package br.tiagohm.horizontalcalendar;
+
+/**
+ * Follows the loading of a {@link HorizontalCalendar}, from {@link HorizontalCalendar.Builder#build()}
+ * until the calendar is shown. All methods are called on the main thread.
+ *
+ * @see HorizontalCalendar.Builder#loadListener(HorizontalCalendarLoadListener)
+ */
+public abstract class HorizontalCalendarLoadListener {
+
+    /**
+     * @param step  number of loading steps done
+     * @param steps total number of loading steps
+     */
+    public void onLoadProgress(int step, int steps) {
+    }
+
+    /**
+     * Called once the calendar is shown.
+     */
+    public abstract void onLoadFinished();
+
+    /**
+     * Called when loading is cancelled, see {@link HorizontalCalendar#cancelLoading()}.
+     */
+    public void onLoadCancelled() {
+    }
+}
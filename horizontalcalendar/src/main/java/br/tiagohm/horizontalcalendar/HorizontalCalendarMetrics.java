@@ -0,0 +1,184 @@
+package br.tiagohm.horizontalcalendar;
+
+/**
+ * Counters of the work done by calendars, to find out why a calendar stutters on some devices.
+ * Collected only by calendars built with {@link HorizontalCalendar.Builder#metrics(HorizontalCalendarMetrics)};
+ * one instance can be shared by several calendars. Updated and read on the main thread.
+ * <p>
+ * Bind times are counted in {@link #BIND_TIME_BUCKETS} buckets: bucket 0 holds the binds under
+ * 64 microseconds, and each following bucket holds binds up to twice as long as the previous one.
+ */
+public final class HorizontalCalendarMetrics {
+
+    public static final int BIND_TIME_BUCKETS = 11;
+    //Upper bound of bucket 0
+    private static final long FIRST_BUCKET_MICROS = 64;
+
+    private long viewHolderCreations;
+    private long preparedViewHolders;
+    private long fullBinds;
+    private long payloadBinds;
+    private long fullBindTimeNanos;
+    private long payloadBindTimeNanos;
+    private final long[] fullBindTimes = new long[BIND_TIME_BUCKETS];
+    private final long[] payloadBindTimes = new long[BIND_TIME_BUCKETS];
+    private long dateSelectedDispatches;
+    private long selectedDatesChangedDispatches;
+    //System.nanoTime() when the first calendar was built, 0 if none
+    private long buildTimeNanos;
+    //-1 until the calendar is shown
+    private long initTimeNanos = -1;
+
+    /**
+     * @return upper bound, exclusive, of the bind times counted in this bucket, or {@link Long#MAX_VALUE}
+     * for the last bucket
+     */
+    public static long getBindTimeBucketUpperBoundNanos(int bucket) {
+        if (bucket == BIND_TIME_BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return (FIRST_BUCKET_MICROS << bucket) * 1000;
+    }
+
+    /**
+     * @return number of date cells created while the calendar was shown
+     */
+    public long getViewHolderCreations() {
+        return viewHolderCreations;
+    }
+
+    /**
+     * @return number of date cells created ahead of time, before the calendar was shown
+     * @see HorizontalCalendar.Builder#prepareDayCells(boolean)
+     */
+    public long getPreparedViewHolders() {
+        return preparedViewHolders;
+    }
+
+    /**
+     * @return number of binds that set every view of a date cell
+     */
+    public long getFullBinds() {
+        return fullBinds;
+    }
+
+    /**
+     * @return number of binds that only updated the selection or the day markers of a date cell
+     */
+    public long getPayloadBinds() {
+        return payloadBinds;
+    }
+
+    public long getFullBindTimeNanos() {
+        return fullBindTimeNanos;
+    }
+
+    public long getPayloadBindTimeNanos() {
+        return payloadBindTimeNanos;
+    }
+
+    /**
+     * @return number of full binds that took the time of this bucket
+     * @see #getBindTimeBucketUpperBoundNanos(int)
+     */
+    public long getFullBindTimes(int bucket) {
+        return fullBindTimes[bucket];
+    }
+
+    /**
+     * @return number of payload binds that took the time of this bucket
+     * @see #getBindTimeBucketUpperBoundNanos(int)
+     */
+    public long getPayloadBindTimes(int bucket) {
+        return payloadBindTimes[bucket];
+    }
+
+    /**
+     * @return number of calls to {@link HorizontalCalendarListener#onDateSelected(java.util.Date, int)}
+     */
+    public long getDateSelectedDispatches() {
+        return dateSelectedDispatches;
+    }
+
+    /**
+     * @return number of calls to {@link HorizontalCalendarListener#onSelectedDatesChanged()}
+     */
+    public long getSelectedDatesChangedDispatches() {
+        return selectedDatesChangedDispatches;
+    }
+
+    /**
+     * @return time from {@link HorizontalCalendar.Builder#build()} to the first time the calendar
+     * was shown with its dates, in nanoseconds, or -1 if it was not shown yet
+     */
+    public long getInitTimeNanos() {
+        return initTimeNanos;
+    }
+
+    /**
+     * Set every counter back to 0. The init time is kept.
+     */
+    public void reset() {
+        viewHolderCreations = 0;
+        preparedViewHolders = 0;
+        fullBinds = 0;
+        payloadBinds = 0;
+        fullBindTimeNanos = 0;
+        payloadBindTimeNanos = 0;
+        for (int i = 0; i < BIND_TIME_BUCKETS; i++) {
+            fullBindTimes[i] = 0;
+            payloadBindTimes[i] = 0;
+        }
+        dateSelectedDispatches = 0;
+        selectedDatesChangedDispatches = 0;
+    }
+
+    void onBuild() {
+        if (buildTimeNanos == 0) {
+            buildTimeNanos = System.nanoTime();
+        }
+    }
+
+    void onShown() {
+        if ((initTimeNanos == -1) && (buildTimeNanos != 0)) {
+            initTimeNanos = System.nanoTime() - buildTimeNanos;
+        }
+    }
+
+    void onViewHolderCreated() {
+        viewHolderCreations++;
+    }
+
+    void onViewHoldersPrepared(int count) {
+        preparedViewHolders += count;
+    }
+
+    void onFullBind(long nanos) {
+        fullBinds++;
+        fullBindTimeNanos += nanos;
+        fullBindTimes[bucketOf(nanos)]++;
+    }
+
+    void onPayloadBind(long nanos) {
+        payloadBinds++;
+        payloadBindTimeNanos += nanos;
+        payloadBindTimes[bucketOf(nanos)]++;
+    }
+
+    void onDateSelectedDispatched() {
+        dateSelectedDispatches++;
+    }
+
+    void onSelectedDatesChangedDispatched() {
+        selectedDatesChangedDispatches++;
+    }
+
+    private static int bucketOf(long nanos) {
+        long units = nanos / 1000 / FIRST_BUCKET_MICROS;
+        if (units == 0) {
+            return 0;
+        }
+        //Bucket i holds [2^(i-1), 2^i) units
+        return Math.min(BIND_TIME_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(units));
+    }
+}
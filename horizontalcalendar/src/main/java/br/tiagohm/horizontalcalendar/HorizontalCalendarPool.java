@@ -0,0 +1,52 @@
+package br.tiagohm.horizontalcalendar;
+
+import android.support.v7.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.TimeZone;
+
+/**
+ * Date cells and labels shared by several calendars, for example one calendar on each page
+ * of a ViewPager. Calendars built with the same pool reuse the cells of each other instead
+ * of creating new ones. Must be used from the main thread.
+ *
+ * @see HorizontalCalendar.Builder#sharedPool(HorizontalCalendarPool)
+ */
+public final class HorizontalCalendarPool {
+
+    private final RecyclerView.RecycledViewPool recycledViewPool = new RecyclerView.RecycledViewPool();
+    private final ArrayList<DateLabelCache> labelCaches = new ArrayList<>();
+    //Indexed by view type
+    private final int[] capacities = new int[2];
+
+    public RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return recycledViewPool;
+    }
+
+    /**
+     * Make room for at least {@code count} unused cells of this view type.
+     */
+    void ensureCapacity(int viewType, int count) {
+        if (capacities[viewType] < count) {
+            capacities[viewType] = count;
+            recycledViewPool.setMaxRecycledViews(viewType, count);
+        }
+    }
+
+    /**
+     * @return the labels for these formats, shared with other calendars using the same formats
+     */
+    DateLabelCache obtainLabelCache(String formatDayName, String formatDayNumber, String formatMonth,
+                                    String formatYear, TimeZone timeZone) {
+        for (DateLabelCache labelCache : labelCaches) {
+            if (labelCache.hasFormats(formatDayName, formatDayNumber, formatMonth, formatYear, timeZone)) {
+                return labelCache;
+            }
+        }
+
+        DateLabelCache labelCache = new DateLabelCache(formatDayName, formatDayNumber, formatMonth, formatYear, timeZone,
+                AndroidDateFormatter.INSTANCE);
+        labelCaches.add(labelCache);
+        return labelCache;
+    }
+}
@@ -25,6 +25,7 @@ public class HorizontalCalendarView extends RecyclerView {
     private int selectorColor;
     private float textSizeMonthName, textSizeDayNumber, textSizeDayName;
     private HorizontalCalendar horizontalCalendar;
+    private int positionOfCenterItem = -1;
 
     public HorizontalCalendarView(Context context) {
         super(context);
@@ -59,7 +60,47 @@ public class HorizontalCalendarView extends RecyclerView {
     public boolean fling(int velocityX, int velocityY) {
         velocityX *= FLING_SCALE_DOWN_FACTOR; // (between 0 for no fling, and 1 for normal fling, or more for faster fling).
 
-        return super.fling(velocityX, velocityY);
+        boolean flung = super.fling(velocityX, velocityY);
+        if (flung && (horizontalCalendar != null)) {
+            horizontalCalendar.onFling();
+        }
+        return flung;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (horizontalCalendar != null) {
+            horizontalCalendar.onAttachedToWindow();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (horizontalCalendar != null) {
+            horizontalCalendar.onDetachedFromWindow();
+        }
+    }
+
+    @Override
+    public void onScrolled(int dx, int dy) {
+        super.onScrolled(dx, dy);
+        updatePositionOfCenterItem();
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        updatePositionOfCenterItem();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if ((w != oldw) && (getAdapter() != null)) {
+            getAdapter().updateCellWidth(w);
+        }
     }
 
     @Override
@@ -67,6 +108,10 @@ public class HorizontalCalendarView extends RecyclerView {
         if (isInEditMode()) {
             setMeasuredDimension(widthSpec, 150);
         } else {
+            //Size the cells before the layout manager measures one
+            if ((getAdapter() != null) && (MeasureSpec.getMode(widthSpec) == MeasureSpec.EXACTLY)) {
+                getAdapter().updateCellWidth(MeasureSpec.getSize(widthSpec));
+            }
             super.onMeasure(widthSpec, heightSpec);
         }
 
@@ -148,11 +193,25 @@ public class HorizontalCalendarView extends RecyclerView {
      * @return position of selected date on center of screen
      */
     public int getPositionOfCenterItem() {
-        int numberOfDatesOnScreen = horizontalCalendar.getNumberOfDatesOnScreen();
-        int firstVisiblePosition = getLayoutManager().findFirstCompletelyVisibleItemPosition();
+        return positionOfCenterItem;
+    }
+
+    /**
+     * All cells have the same width, so the layout manager finds the first completely visible
+     * cell from the scroll offset, without looking at the children.
+     */
+    private void updatePositionOfCenterItem() {
+        HorizontalLayoutManager layoutManager = getLayoutManager();
+        if ((horizontalCalendar == null) || (layoutManager == null)) {
+            positionOfCenterItem = -1;
+            return;
+        }
+
+        int firstVisiblePosition = layoutManager.findFirstCompletelyVisibleItemPosition();
         if (firstVisiblePosition == -1) {
-            return -1;
+            positionOfCenterItem = -1;
+        } else {
+            positionOfCenterItem = firstVisiblePosition + (horizontalCalendar.getNumberOfDatesOnScreen() / 2);
         }
-        return firstVisiblePosition + (numberOfDatesOnScreen / 2);
     }
 }
@@ -1,17 +1,24 @@
 package br.tiagohm.horizontalcalendar;
 
-import android.content.Context;
 import android.graphics.PointF;
-import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.LinearSmoothScroller;
 import android.support.v7.widget.RecyclerView;
 import android.util.DisplayMetrics;
 import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewGroup;
 
 /**
+ * Horizontal layout for cells that all have the same size.
+ * <p>
+ * The size is measured from one cell on each layout pass; every other cell gets the same exact
+ * size, so its measure is skipped unless its content asked for a new layout. Children are placed by
+ * index arithmetic from the scroll offset, which makes scrolling to any position constant time.
+ * <p>
  * See {@link HorizontalCalendarView HorizontalCalendarView}
  */
-class HorizontalLayoutManager extends LinearLayoutManager {
+class HorizontalLayoutManager extends RecyclerView.LayoutManager
+        implements RecyclerView.SmoothScroller.ScrollVectorProvider {
 
     public static final float SPEED_NORMAL = 1;
     public static final float SPEED_FAST = 5;
@@ -19,9 +26,103 @@ class HorizontalLayoutManager extends LinearLayoutManager {
 
     private final float Y = 1;
     private float smoothScrollSpeed = SPEED_NORMAL;
+    private boolean recycleChildrenOnDetach;
+    //Size of every cell, 0 until measured
+    private int cellWidth;
+    private int cellHeight;
+    //Pixels scrolled from the start of the first cell
+    private int scrollOffset;
+    private int pendingScrollPosition = RecyclerView.NO_POSITION;
+    private int pendingScrollOffset;
 
-    HorizontalLayoutManager(Context context, boolean reverseLayout) {
-        super(context, HORIZONTAL, reverseLayout);
+    HorizontalLayoutManager() {
+        setAutoMeasureEnabled(true);
+    }
+
+    @Override
+    public RecyclerView.LayoutParams generateDefaultLayoutParams() {
+        return new RecyclerView.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public boolean canScrollHorizontally() {
+        return true;
+    }
+
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        int itemCount = state.getItemCount();
+        if (itemCount == 0) {
+            removeAndRecycleAllViews(recycler);
+            scrollOffset = 0;
+            return;
+        }
+        if (state.isPreLayout()) {
+            return;
+        }
+
+        detachAndScrapAttachedViews(recycler);
+        measureCell(recycler, itemCount);
+
+        if (pendingScrollPosition != RecyclerView.NO_POSITION) {
+            int position = Math.min(pendingScrollPosition, itemCount - 1);
+            scrollOffset = position * cellWidth - pendingScrollOffset;
+            pendingScrollPosition = RecyclerView.NO_POSITION;
+        }
+        scrollOffset = clampScrollOffset(scrollOffset, itemCount);
+
+        fill(recycler, itemCount);
+    }
+
+    @Override
+    public int scrollHorizontallyBy(int dx, RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if ((getChildCount() == 0) || (dx == 0)) {
+            return 0;
+        }
+
+        int itemCount = state.getItemCount();
+        int newScrollOffset = clampScrollOffset(scrollOffset + dx, itemCount);
+        int scrolled = newScrollOffset - scrollOffset;
+        scrollOffset = newScrollOffset;
+        offsetChildrenHorizontal(-scrolled);
+        fill(recycler, itemCount);
+
+        return scrolled;
+    }
+
+    /**
+     * Scroll the least needed to show this position, like
+     * {@link android.support.v7.widget.LinearLayoutManager#scrollToPosition(int)}.
+     */
+    @Override
+    public void scrollToPosition(int position) {
+        if ((cellWidth == 0) || (getChildCount() == 0)) {
+            scrollToPositionWithOffset(position, 0);
+            return;
+        }
+
+        int start = position * cellWidth;
+        int end = start + cellWidth;
+        int target;
+        if (start < scrollOffset) {
+            target = start;
+        } else if (end > scrollOffset + getContentWidth()) {
+            target = end - getContentWidth();
+        } else {
+            return;
+        }
+        scrollToPositionWithOffset(position, start - target);
+    }
+
+    /**
+     * @param position the position to scroll to
+     * @param offset   distance from the start of the calendar to the start of the cell, in pixels
+     */
+    public void scrollToPositionWithOffset(int position, int offset) {
+        pendingScrollPosition = position;
+        pendingScrollOffset = offset;
+        requestLayout();
     }
 
     @Override
@@ -45,6 +146,98 @@ class HorizontalLayoutManager extends LinearLayoutManager {
         startSmoothScroll(smoothScroller);
     }
 
+    @Override
+    public PointF computeScrollVectorForPosition(int targetPosition) {
+        if (getChildCount() == 0) {
+            return null;
+        }
+        int firstChildPosition = getPosition(getChildAt(0));
+        return new PointF(targetPosition < firstChildPosition ? -1 : 1, 0);
+    }
+
+    @Override
+    public View findViewByPosition(int position) {
+        int childCount = getChildCount();
+        if (childCount != 0) {
+            int index = position - getPosition(getChildAt(0));
+            if ((index >= 0) && (index < childCount)) {
+                View child = getChildAt(index);
+                if (getPosition(child) == position) {
+                    return child;
+                }
+            }
+        }
+        return super.findViewByPosition(position);
+    }
+
+    /**
+     * @return the first completely visible position, or -1 if nothing is laid out
+     */
+    public int findFirstCompletelyVisibleItemPosition() {
+        if ((getChildCount() == 0) || (cellWidth == 0)) {
+            return -1;
+        }
+        int position = (scrollOffset + cellWidth - 1) / cellWidth;
+        return position < getItemCount() ? position : -1;
+    }
+
+    @Override
+    public void onItemsAdded(RecyclerView recyclerView, int positionStart, int itemCount) {
+        //Keep showing the same cells when cells are added before them
+        if ((cellWidth != 0) && (positionStart <= scrollOffset / cellWidth)) {
+            scrollOffset += itemCount * cellWidth;
+        }
+    }
+
+    @Override
+    public void onItemsRemoved(RecyclerView recyclerView, int positionStart, int itemCount) {
+        if (cellWidth != 0) {
+            int firstPosition = scrollOffset / cellWidth;
+            if (positionStart < firstPosition) {
+                scrollOffset -= Math.min(itemCount, firstPosition - positionStart) * cellWidth;
+            }
+        }
+    }
+
+    @Override
+    public void onAdapterChanged(RecyclerView.Adapter oldAdapter, RecyclerView.Adapter newAdapter) {
+        removeAllViews();
+        cellWidth = 0;
+        cellHeight = 0;
+        scrollOffset = 0;
+    }
+
+    @Override
+    public void onDetachedFromWindow(RecyclerView view, RecyclerView.Recycler recycler) {
+        super.onDetachedFromWindow(view, recycler);
+        if (recycleChildrenOnDetach) {
+            removeAndRecycleAllViews(recycler);
+            recycler.clear();
+        }
+    }
+
+    @Override
+    public int computeHorizontalScrollOffset(RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : scrollOffset;
+    }
+
+    @Override
+    public int computeHorizontalScrollExtent(RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : getContentWidth();
+    }
+
+    @Override
+    public int computeHorizontalScrollRange(RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : state.getItemCount() * cellWidth;
+    }
+
+    /**
+     * @param recycleChildrenOnDetach true to recycle the cells when the calendar is detached from its window
+     */
+    public void setRecycleChildrenOnDetach(boolean recycleChildrenOnDetach) {
+        this.recycleChildrenOnDetach = recycleChildrenOnDetach;
+    }
+
     public float getSmoothScrollSpeed() {
         return smoothScrollSpeed;
     }
@@ -53,4 +246,108 @@ class HorizontalLayoutManager extends LinearLayoutManager {
         this.smoothScrollSpeed = smoothScrollSpeed;
     }
 
+    /**
+     * @return width of each cell, in pixels, or 0 if not measured yet
+     */
+    int getCellWidth() {
+        return cellWidth;
+    }
+
+    /**
+     * @return pixels scrolled from the start of the first cell
+     */
+    int getScrollOffset() {
+        return scrollOffset;
+    }
+
+    /**
+     * @param offset a scroll offset, in pixels, not necessarily reachable
+     * @return position of the cell under the center of the calendar at this offset, or -1 if not measured yet
+     */
+    int findCenterPosition(int offset) {
+        int itemCount = getItemCount();
+        if ((cellWidth == 0) || (itemCount == 0)) {
+            return -1;
+        }
+        int position = (clampScrollOffset(offset, itemCount) + getContentWidth() / 2) / cellWidth;
+        return Math.min(position, itemCount - 1);
+    }
+
+    /**
+     * @return the scroll offset that centers this position, or the closest one that can be scrolled to
+     */
+    int scrollOffsetToCenter(int position) {
+        return clampScrollOffset(position * cellWidth + cellWidth / 2 - getContentWidth() / 2, getItemCount());
+    }
+
+    /**
+     * Measure one cell, which sets the size of all cells. The scroll offset is scaled if the
+     * width changed, so the same cells stay on screen.
+     */
+    private void measureCell(RecyclerView.Recycler recycler, int itemCount) {
+        int position = cellWidth == 0 ? 0 : Math.min(scrollOffset / cellWidth, itemCount - 1);
+        View view = recycler.getViewForPosition(position);
+        measureChildWithMargins(view, 0, 0);
+        int width = Math.max(1, getDecoratedMeasuredWidth(view));
+        cellHeight = getDecoratedMeasuredHeight(view);
+        //Cached by position, the next fill takes it back without binding again
+        recycler.recycleView(view);
+
+        if ((cellWidth != 0) && (cellWidth != width)) {
+            scrollOffset = (scrollOffset / cellWidth) * width + (scrollOffset % cellWidth) * width / cellWidth;
+        }
+        cellWidth = width;
+    }
+
+    /**
+     * Recycle the children out of the screen and add the missing ones.
+     */
+    private void fill(RecyclerView.Recycler recycler, int itemCount) {
+        int firstPosition = scrollOffset / cellWidth;
+        int lastPosition = Math.min(itemCount - 1, (scrollOffset + getContentWidth() - 1) / cellWidth);
+
+        for (int i = getChildCount() - 1; i >= 0; i--) {
+            View child = getChildAt(i);
+            int position = getPosition(child);
+            if ((position < firstPosition) || (position > lastPosition)) {
+                removeAndRecycleView(child, recycler);
+            }
+        }
+
+        //Children are kept in position order
+        if (getChildCount() == 0) {
+            for (int position = firstPosition; position <= lastPosition; position++) {
+                addCell(recycler, position, -1);
+            }
+        } else {
+            int firstChildPosition = getPosition(getChildAt(0));
+            int lastChildPosition = getPosition(getChildAt(getChildCount() - 1));
+            for (int position = firstPosition; position < firstChildPosition; position++) {
+                addCell(recycler, position, position - firstPosition);
+            }
+            for (int position = lastChildPosition + 1; position <= lastPosition; position++) {
+                addCell(recycler, position, -1);
+            }
+        }
+    }
+
+    private void addCell(RecyclerView.Recycler recycler, int position, int index) {
+        View view = recycler.getViewForPosition(position);
+        addView(view, index);
+        //Same exact size every time, so the view skips measuring unless it requested a layout
+        view.measure(View.MeasureSpec.makeMeasureSpec(cellWidth, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(cellHeight, View.MeasureSpec.EXACTLY));
+        int left = getPaddingLeft() + position * cellWidth - scrollOffset;
+        int top = getPaddingTop();
+        layoutDecorated(view, left, top, left + cellWidth, top + cellHeight);
+    }
+
+    private int clampScrollOffset(int offset, int itemCount) {
+        int maxScrollOffset = Math.max(0, itemCount * cellWidth - getContentWidth());
+        return Math.max(0, Math.min(offset, maxScrollOffset));
+    }
+
+    private int getContentWidth() {
+        return getWidth() - getPaddingLeft() - getPaddingRight();
+    }
 }
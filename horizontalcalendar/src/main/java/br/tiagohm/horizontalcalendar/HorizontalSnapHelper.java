@@ -4,17 +4,65 @@ import android.support.annotation.Nullable;
 import android.support.v7.widget.LinearSnapHelper;
 import android.support.v7.widget.RecyclerView;
 import android.view.View;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 
 /**
+ * Centers a date when the calendar stops. All cells have the same width, so the date to center
+ * and the distance to it are worked out from the scroll offset instead of from the children, and
+ * a fling lands on the center of its date in a single animation.
+ *
  * @author Raee, Mulham (mulham.raee@gmail.com)
  */
 public class HorizontalSnapHelper extends LinearSnapHelper {
 
+    //Same as RecyclerView
+    private static final int MAX_SNAP_DURATION = 2000;
+    private static final Interpolator DECELERATE_INTERPOLATOR = new DecelerateInterpolator();
+
     private HorizontalCalendar horizontalCalendar;
 
+    @Override
+    public boolean onFling(int velocityX, int velocityY) {
+        HorizontalCalendarView calendarView = horizontalCalendar.calendarView;
+        HorizontalLayoutManager layoutManager = calendarView.getLayoutManager();
+        if ((layoutManager == null) || (calendarView.getAdapter() == null)
+                || (Math.abs(velocityX) <= calendarView.getMinFlingVelocity())) {
+            return false;
+        }
+
+        int targetPosition = findTargetSnapPosition(layoutManager, velocityX, velocityY);
+        if (targetPosition == RecyclerView.NO_POSITION) {
+            return false;
+        }
+
+        int distance = distanceToCenter(layoutManager, targetPosition);
+        SnapScroller snapScroller = new SnapScroller(distance, snapDuration(distance, velocityX));
+        snapScroller.setTargetPosition(targetPosition);
+        layoutManager.startSmoothScroll(snapScroller);
+        return true;
+    }
+
     @Override
     public View findSnapView(RecyclerView.LayoutManager layoutManager) {
-        View snapView = super.findSnapView(layoutManager);
+        HorizontalLayoutManager horizontalLayoutManager = (HorizontalLayoutManager) layoutManager;
+        int centerPosition = horizontalLayoutManager.findCenterPosition(horizontalLayoutManager.getScrollOffset());
+        View snapView = (centerPosition != -1) ? layoutManager.findViewByPosition(centerPosition) : null;
+
+        //Snap to the nearest enabled date instead of a disabled one
+        if ((snapView != null) && horizontalCalendar.isDisabled(layoutManager.getPosition(snapView))) {
+            int enabledPosition = horizontalCalendar.nearestEnabledPosition(layoutManager.getPosition(snapView));
+            if (enabledPosition != -1) {
+                View enabledView = layoutManager.findViewByPosition(enabledPosition);
+                if (enabledView != null) {
+                    snapView = enabledView;
+                } else if (horizontalCalendar.calendarView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+                    //Too far to snap, scroll to it and snap again when it stops
+                    horizontalCalendar.centerCalendarToPosition(enabledPosition);
+                    return null;
+                }
+            }
+        }
 
         if (horizontalCalendar.calendarView.getScrollState() != RecyclerView.SCROLL_STATE_DRAGGING) {
             int selectedItemPosition;
@@ -22,20 +70,58 @@ public class HorizontalSnapHelper extends LinearSnapHelper {
                 // no snapping required
                 selectedItemPosition = horizontalCalendar.getSelectedDatePosition();
             } else {
-                int[] snapDistance = calculateDistanceToFinalSnap(layoutManager, snapView);
-                if ((snapDistance[0] != 0) || (snapDistance[1] != 0)) {
+                selectedItemPosition = layoutManager.getPosition(snapView);
+                if (distanceToCenter(horizontalLayoutManager, selectedItemPosition) != 0) {
                     return snapView;
                 }
-                selectedItemPosition = layoutManager.getPosition(snapView);
-            }
-            if (horizontalCalendar.calendarListener != null) {
-                horizontalCalendar.calendarListener.onDateSelected(horizontalCalendar.getDateAt(selectedItemPosition), selectedItemPosition);
             }
+            horizontalCalendar.onDateSettled(selectedItemPosition);
         }
 
         return snapView;
     }
 
+    /**
+     * @return the position centered where the fling would stop. The velocity is already scaled
+     * down by {@link HorizontalCalendarView#fling(int, int)}.
+     */
+    @Override
+    public int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+        HorizontalLayoutManager horizontalLayoutManager = (HorizontalLayoutManager) layoutManager;
+        int flingDistance = calculateScrollDistance(velocityX, velocityY)[0];
+        int targetPosition = horizontalLayoutManager.findCenterPosition(
+                horizontalLayoutManager.getScrollOffset() + flingDistance);
+        if ((targetPosition != RecyclerView.NO_POSITION) && horizontalCalendar.isDisabled(targetPosition)) {
+            int enabledPosition = horizontalCalendar.nearestEnabledPosition(targetPosition);
+            if (enabledPosition != -1) {
+                return enabledPosition;
+            }
+        }
+        return targetPosition;
+    }
+
+    /**
+     * @return duration, in milliseconds, of a deceleration over {@code distance} that starts at the fling velocity
+     */
+    private static int snapDuration(int distance, int velocityX) {
+        //The decelerate interpolator starts at twice the average speed
+        long duration = 2000L * Math.abs(distance) / Math.abs(velocityX);
+        return (int) Math.max(1, Math.min(duration, MAX_SNAP_DURATION));
+    }
+
+    @Override
+    public int[] calculateDistanceToFinalSnap(RecyclerView.LayoutManager layoutManager, View targetView) {
+        HorizontalLayoutManager horizontalLayoutManager = (HorizontalLayoutManager) layoutManager;
+        return new int[]{distanceToCenter(horizontalLayoutManager, layoutManager.getPosition(targetView)), 0};
+    }
+
+    /**
+     * @return distance to scroll to center this position, 0 if it is centered or as close as it can get
+     */
+    private static int distanceToCenter(HorizontalLayoutManager layoutManager, int position) {
+        return layoutManager.scrollOffsetToCenter(position) - layoutManager.getScrollOffset();
+    }
+
     @Override
     public void attachToRecyclerView(@Nullable RecyclerView recyclerView) throws IllegalStateException {
         // Do nothing
@@ -49,4 +135,46 @@ public class HorizontalSnapHelper extends LinearSnapHelper {
     private void attachToRecyclerView() {
         super.attachToRecyclerView(horizontalCalendar.calendarView);
     }
+
+    /**
+     * Scrolls by a distance known from the start, in one animation, instead of seeking the target
+     * view and correcting the distance once it is laid out.
+     */
+    private static class SnapScroller extends RecyclerView.SmoothScroller {
+
+        private final int distance;
+        private final int duration;
+        private boolean started;
+
+        SnapScroller(int distance, int duration) {
+            this.distance = distance;
+            this.duration = duration;
+        }
+
+        @Override
+        protected void onStart() {
+        }
+
+        @Override
+        protected void onStop() {
+        }
+
+        @Override
+        protected void onSeekTargetStep(int dx, int dy, RecyclerView.State state, Action action) {
+            start(action);
+        }
+
+        @Override
+        protected void onTargetFound(View targetView, RecyclerView.State state, Action action) {
+            start(action);
+        }
+
+        private void start(Action action) {
+            //Later steps leave the animation running
+            if (!started) {
+                started = true;
+                action.update(distance, 0, duration, DECELERATE_INTERPOLATOR);
+            }
+        }
+    }
 }
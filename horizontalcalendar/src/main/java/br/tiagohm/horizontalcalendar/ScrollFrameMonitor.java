@@ -0,0 +1,102 @@
+package br.tiagohm.horizontalcalendar;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.Choreographer;
+import android.view.WindowManager;
+
+/**
+ * Records the time between frames while the calendar scrolls, and reports it to a
+ * {@link HorizontalCalendarFrameListener} once the calendar is idle. Frame callbacks are only
+ * posted while scrolling.
+ */
+@TargetApi(16)
+class ScrollFrameMonitor extends RecyclerView.OnScrollListener implements Choreographer.FrameCallback {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private final HorizontalCalendarFrameListener listener;
+    private final WindowManager windowManager;
+    private boolean monitoring;
+    private long frameIntervalNanos;
+    private long lastFrameTimeNanos;
+    private int frames;
+    private int droppedFrames;
+    private long longestFrameNanos;
+    private int distance;
+    private boolean flung;
+
+    ScrollFrameMonitor(Context context, HorizontalCalendarFrameListener listener) {
+        this.listener = listener;
+        this.windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            stop();
+        } else {
+            start();
+        }
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        if (monitoring) {
+            distance += Math.abs(dx);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!monitoring) {
+            return;
+        }
+
+        if (lastFrameTimeNanos != 0) {
+            long interval = frameTimeNanos - lastFrameTimeNanos;
+            longestFrameNanos = Math.max(longestFrameNanos, interval);
+            //Frames that should have been drawn in between
+            droppedFrames += Math.max(0, (int) ((interval + frameIntervalNanos / 2) / frameIntervalNanos) - 1);
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        frames++;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Called when the calendar is flung, see {@link HorizontalCalendarView#fling(int, int)}.
+     */
+    void onFling() {
+        flung = true;
+    }
+
+    private void start() {
+        if (monitoring) {
+            return;
+        }
+        monitoring = true;
+        //The refresh rate can change between scrolls
+        float refreshRate = windowManager.getDefaultDisplay().getRefreshRate();
+        frameIntervalNanos = (long) (NANOS_PER_SECOND / (refreshRate >= 1 ? refreshRate : 60));
+        lastFrameTimeNanos = 0;
+        frames = 0;
+        droppedFrames = 0;
+        longestFrameNanos = 0;
+        distance = 0;
+        flung = false;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private void stop() {
+        if (!monitoring) {
+            return;
+        }
+        monitoring = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        if (frames > 0) {
+            listener.onScrollFrames(frames, droppedFrames, longestFrameNanos, distance, flung);
+        }
+    }
+}
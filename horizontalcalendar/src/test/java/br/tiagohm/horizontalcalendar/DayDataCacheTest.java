@@ -0,0 +1,197 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static br.tiagohm.horizontalcalendar.DayDataCache.MAX_PAGES;
+import static br.tiagohm.horizontalcalendar.DayDataCache.PAGE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class DayDataCacheTest {
+
+    private static final int MARKER = 2;
+
+    //Page loads waiting for runLoads()
+    private final List<Runnable> pendingLoads = new ArrayList<>();
+    //First day of each page, in the order they were loaded
+    private final List<Long> loads = new ArrayList<>();
+    private final List<Long> loadedPages = new ArrayList<>();
+    private boolean failing;
+
+    private final DayDataCache<String> cache = new DayDataCache<>(
+            new DayDataCache.Callback() {
+                @Override
+                public void onDayDataLoaded(long firstEpochDay, int count) {
+                    assertEquals(PAGE_SIZE, count);
+                    loadedPages.add(firstEpochDay);
+                }
+            },
+            new DayDataProvider<String>() {
+                @Override
+                public List<String> loadDays(long firstEpochDay, int count) {
+                    loads.add(firstEpochDay);
+                    if (failing) {
+                        throw new IllegalStateException("offline");
+                    }
+                    List<String> days = new ArrayList<>();
+                    for (int i = 0; i < count; i++) {
+                        days.add("day " + (firstEpochDay + i));
+                    }
+                    return days;
+                }
+
+                @Override
+                public int getDayMarker(String data) {
+                    return MARKER;
+                }
+            },
+            new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    pendingLoads.add(command);
+                }
+            });
+
+    @Test
+    public void loadPageOnFirstLookUp() {
+        assertEquals(0, cache.getDayMarker(40));
+        assertNull(cache.getDayData(40));
+
+        runLoads();
+        assertEquals(MARKER, cache.getDayMarker(40));
+        assertEquals("day 40", cache.getDayData(40));
+        assertEquals("day 63", cache.getDayData(63));
+        assertEquals(Arrays.asList(32L), loads);
+        assertEquals(Arrays.asList(32L), loadedPages);
+    }
+
+    @Test
+    public void alignPagesBeforeEpoch() {
+        cache.getDayMarker(-1);
+        runLoads();
+
+        assertEquals(Arrays.asList((long) -PAGE_SIZE), loads);
+        assertEquals("day -1", cache.getDayData(-1));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedPage() {
+        for (int page = 0; page < MAX_PAGES; page++) {
+            cache.getDayMarker(page * PAGE_SIZE);
+        }
+        runLoads();
+        //Page 1 is now the least recently used
+        cache.getDayMarker(0);
+
+        cache.getDayMarker(MAX_PAGES * PAGE_SIZE);
+        runLoads();
+        loads.clear();
+        assertNull(cache.getDayData(PAGE_SIZE));
+        assertEquals(MARKER, cache.getDayMarker(0));
+        assertEquals(MARKER, cache.getDayMarker(2 * PAGE_SIZE));
+        assertTrue(pendingLoads.isEmpty());
+
+        cache.getDayMarker(PAGE_SIZE);
+        runLoads();
+        assertEquals(Arrays.asList((long) PAGE_SIZE), loads);
+    }
+
+    @Test
+    public void keepLoadingPages() {
+        for (int page = 0; page < MAX_PAGES; page++) {
+            cache.getDayMarker(page * PAGE_SIZE);
+        }
+        assertEquals(MAX_PAGES, pendingLoads.size());
+
+        //No slot can be reused until a page arrives
+        assertEquals(0, cache.getDayMarker(MAX_PAGES * PAGE_SIZE));
+        assertEquals(MAX_PAGES, pendingLoads.size());
+
+        runLoads();
+        for (int page = 0; page < MAX_PAGES; page++) {
+            assertEquals(MARKER, cache.getDayMarker(page * PAGE_SIZE));
+        }
+        cache.getDayMarker(MAX_PAGES * PAGE_SIZE);
+        assertEquals(1, pendingLoads.size());
+    }
+
+    @Test
+    public void prefetchNextPageInScrollDirection() {
+        cache.prefetch(2 * PAGE_SIZE, 3 * PAGE_SIZE + 5, 1);
+        runLoads();
+        assertEquals(Arrays.asList(2L * PAGE_SIZE, 3L * PAGE_SIZE, 4L * PAGE_SIZE), loads);
+
+        loads.clear();
+        cache.prefetch(2 * PAGE_SIZE, 3 * PAGE_SIZE + 5, -1);
+        runLoads();
+        assertEquals(Arrays.asList((long) PAGE_SIZE), loads);
+
+        loads.clear();
+        cache.prefetch(2 * PAGE_SIZE, 3 * PAGE_SIZE + 5, 0);
+        assertTrue(pendingLoads.isEmpty());
+    }
+
+    @Test
+    public void keepFailedPageUntilInvalidated() {
+        failing = true;
+        cache.getDayMarker(0);
+        runLoads();
+
+        assertNull(cache.getDayData(0));
+        assertTrue(loadedPages.isEmpty());
+        assertEquals(1, ShadowLog.getLogsForTag("HorizontalCalendar").size());
+
+        //Neither binds nor prefetches request the failed page again
+        failing = false;
+        assertEquals(0, cache.getDayMarker(0));
+        cache.prefetch(0, PAGE_SIZE - 1, 1);
+        runLoads();
+        assertEquals(Arrays.asList(0L, (long) PAGE_SIZE), loads);
+
+        cache.invalidate(0, 0);
+        assertEquals(0, cache.getDayMarker(0));
+        runLoads();
+        assertEquals(MARKER, cache.getDayMarker(0));
+        assertEquals(Arrays.asList(0L, (long) PAGE_SIZE, 0L), loads);
+        assertEquals(Arrays.asList((long) PAGE_SIZE, 0L), loadedPages);
+    }
+
+    @Test
+    public void invalidateLoadedPages() {
+        cache.prefetch(0, 2 * PAGE_SIZE - 1, 0);
+        runLoads();
+        loads.clear();
+
+        cache.invalidate(PAGE_SIZE, PAGE_SIZE);
+        assertEquals(MARKER, cache.getDayMarker(0));
+        assertNull(cache.getDayData(PAGE_SIZE));
+        cache.getDayMarker(PAGE_SIZE);
+        runLoads();
+        assertEquals(Arrays.asList((long) PAGE_SIZE), loads);
+    }
+
+    /**
+     * Load the requested pages, then deliver them on the main looper.
+     */
+    private void runLoads() {
+        List<Runnable> loaders = new ArrayList<>(pendingLoads);
+        pendingLoads.clear();
+        for (Runnable loader : loaders) {
+            loader.run();
+        }
+        Robolectric.flushForegroundThreadScheduler();
+    }
+}
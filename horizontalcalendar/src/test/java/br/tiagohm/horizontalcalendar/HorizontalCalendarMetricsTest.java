@@ -0,0 +1,64 @@
+package br.tiagohm.horizontalcalendar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HorizontalCalendarMetricsTest {
+
+    @Test
+    public void bindTimeBuckets() {
+        HorizontalCalendarMetrics metrics = new HorizontalCalendarMetrics();
+        metrics.onFullBind(0);
+        metrics.onFullBind(63999);
+        metrics.onFullBind(64000);
+        metrics.onFullBind(127999);
+        metrics.onFullBind(128000);
+        metrics.onFullBind(100000000);
+        metrics.onPayloadBind(1000);
+
+        assertEquals(2, metrics.getFullBindTimes(0));
+        assertEquals(2, metrics.getFullBindTimes(1));
+        assertEquals(1, metrics.getFullBindTimes(2));
+        assertEquals(1, metrics.getFullBindTimes(HorizontalCalendarMetrics.BIND_TIME_BUCKETS - 1));
+        assertEquals(6, metrics.getFullBinds());
+        assertEquals(1, metrics.getPayloadBinds());
+        assertEquals(1, metrics.getPayloadBindTimes(0));
+    }
+
+    @Test
+    public void bucketBounds() {
+        assertEquals(64000, HorizontalCalendarMetrics.getBindTimeBucketUpperBoundNanos(0));
+        assertEquals(128000, HorizontalCalendarMetrics.getBindTimeBucketUpperBoundNanos(1));
+        assertEquals(Long.MAX_VALUE,
+                HorizontalCalendarMetrics.getBindTimeBucketUpperBoundNanos(HorizontalCalendarMetrics.BIND_TIME_BUCKETS - 1));
+
+        HorizontalCalendarMetrics metrics = new HorizontalCalendarMetrics();
+        for (int bucket = 0; bucket < HorizontalCalendarMetrics.BIND_TIME_BUCKETS - 1; bucket++) {
+            long bound = HorizontalCalendarMetrics.getBindTimeBucketUpperBoundNanos(bucket);
+            metrics.onFullBind(bound - 1);
+            metrics.onFullBind(bound);
+        }
+        assertEquals(1, metrics.getFullBindTimes(0));
+        for (int bucket = 1; bucket < HorizontalCalendarMetrics.BIND_TIME_BUCKETS - 1; bucket++) {
+            assertEquals(2, metrics.getFullBindTimes(bucket));
+        }
+        assertEquals(1, metrics.getFullBindTimes(HorizontalCalendarMetrics.BIND_TIME_BUCKETS - 1));
+    }
+
+    @Test
+    public void resetKeepsInitTime() {
+        HorizontalCalendarMetrics metrics = new HorizontalCalendarMetrics();
+        assertEquals(-1, metrics.getInitTimeNanos());
+        metrics.onBuild();
+        metrics.onShown();
+        long initTime = metrics.getInitTimeNanos();
+        metrics.onViewHolderCreated();
+        metrics.onDateSelectedDispatched();
+        metrics.reset();
+
+        assertEquals(0, metrics.getViewHolderCreations());
+        assertEquals(0, metrics.getDateSelectedDispatches());
+        assertEquals(initTime, metrics.getInitTimeNanos());
+    }
+}
@@ -0,0 +1,555 @@
+package br.tiagohm.horizontalcalendar;
+
+import android.app.Activity;
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.util.AttributeSet;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.util.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the calendar through flings, taps and jumps, and fails when a scenario creates or
+ * binds more cells than it should. A full bind where a payload bind would do, such as a
+ * {@code notifyDataSetChanged()}, goes over these limits. Labels of inflated cells count
+ * their layout requests, which a bind only causes for the labels that changed.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ScrollAndBindTest {
+
+    private static final int DATES_ON_SCREEN = 5;
+    //Showing another day changes at most the day number, day name and month name labels
+    private static final int LAYOUT_REQUESTS_PER_FULL_BIND = 3;
+    //Loads the calendar on the calling thread
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private Activity activity;
+    private HorizontalCalendarView calendarView;
+    private int calendarViewId;
+    private long layoutRequests;
+
+    @Before
+    public void setUp() {
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setTheme(R.style.Theme_AppCompat_Light);
+        //item_calendar.xml is inflated with labels that count their layout requests
+        LayoutInflater.from(activity).setFactory2(new LayoutInflater.Factory2() {
+            @Override
+            public View onCreateView(View parent, String name, Context context, AttributeSet attrs) {
+                return onCreateView(name, context, attrs);
+            }
+
+            @Override
+            public View onCreateView(String name, Context context, AttributeSet attrs) {
+                return "TextView".equals(name) ? new LayoutCountingTextView(context, attrs) : null;
+            }
+        });
+
+        calendarView = new HorizontalCalendarView(activity, null);
+        calendarViewId = View.generateViewId();
+        calendarView.setId(calendarViewId);
+        FrameLayout root = new FrameLayout(activity);
+        root.addView(calendarView, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        activity.setContentView(root);
+    }
+
+    @Test
+    public void showCalendar() {
+        HorizontalCalendar calendar = build(HorizontalCalendar.SELECTION_MODE_SINGLE);
+
+        BindCounts counts = counts();
+        assertTrue("created " + counts.created, counts.created <= DATES_ON_SCREEN + 2);
+        assertTrue("full binds " + counts.fullBinds, counts.fullBinds <= DATES_ON_SCREEN + 2);
+        assertTrue("payload binds " + counts.payloadBinds, counts.payloadBinds <= 2);
+        assertEquals(calendar.positionOfDate(date(2017, Calendar.JUNE, 15)), calendar.getSelectedDatePosition());
+    }
+
+    @Test
+    public void lookUpDatesBeforeLoaded() {
+        //Loaded once the main looper runs
+        Scheduler scheduler = Robolectric.getForegroundThreadScheduler();
+        scheduler.pause();
+        HorizontalCalendar calendar = builder(HorizontalCalendar.SELECTION_MODE_SINGLE).build();
+
+        Date date = date(2017, Calendar.JUNE, 15);
+        assertEquals(false, calendar.contains(date));
+        assertEquals(-1, calendar.positionOfDate(date));
+        assertEquals(-1, calendar.positionsOf(new long[]{date.getTime()})[0]);
+        assertNull(calendar.getSelectedDate());
+
+        scheduler.unPause();
+        settle();
+        assertEquals(true, calendar.contains(date));
+        assertEquals(date, calendar.getSelectedDate());
+        assertEquals(calendar.positionOfDate(date), calendar.positionsOf(new long[]{date.getTime()})[0]);
+    }
+
+    @Test
+    public void prepareInflatedDayCells() {
+        assertPreparedCellsReused(false);
+    }
+
+    @Test
+    public void prepareDrawnDayCells() {
+        assertPreparedCellsReused(true);
+    }
+
+    @Test
+    public void fling() {
+        build(HorizontalCalendar.SELECTION_MODE_SINGLE);
+
+        int velocity = 4000;
+        for (int i = 0; i < 4; i++) {
+            BindCounts before = counts();
+            int center = calendarView.getPositionOfCenterItem();
+            calendarView.fling(velocity, 0);
+            settle();
+            int crossed = Math.abs(calendarView.getPositionOfCenterItem() - center);
+
+            assertTrue("fling crossed no date", crossed > 0);
+            assertCounts("fling " + i, before, 2, crossed + 3, 2 * crossed + 2);
+            assertLayoutRequests("fling " + i, before);
+            velocity = -velocity;
+        }
+    }
+
+    @Test
+    public void flingLandsOnCellCenter() {
+        HorizontalCalendar calendar = build(HorizontalCalendar.SELECTION_MODE_SINGLE);
+        final int[] selectedPositions = new int[8];
+        final int[] selections = new int[1];
+        calendar.setCalendarListener(new HorizontalCalendarListener() {
+            @Override
+            public void onDateSelected(Date date, int position) {
+                selectedPositions[selections[0]++] = position;
+            }
+        });
+
+        HorizontalLayoutManager layoutManager = calendarView.getLayoutManager();
+        int velocity = 3000;
+        for (int i = 0; i < 4; i++) {
+            calendarView.fling(velocity, 0);
+            settle();
+
+            int center = calendarView.getPositionOfCenterItem();
+            assertEquals(layoutManager.scrollOffsetToCenter(center), layoutManager.getScrollOffset());
+            //Settled once, on the centered date
+            assertEquals(i + 1, selections[0]);
+            assertEquals(center, selectedPositions[i]);
+            velocity = -velocity;
+        }
+    }
+
+    @Test
+    public void tapNextDate() {
+        HorizontalCalendar calendar = build(HorizontalCalendar.SELECTION_MODE_SINGLE);
+
+        for (int i = 0; i < 3; i++) {
+            BindCounts before = counts();
+            int center = calendarView.getPositionOfCenterItem();
+            tap(center + 1);
+
+            assertEquals(center + 1, calendar.getSelectedDatePosition());
+            assertCounts("tap " + i, before, 1, 2, 4);
+        }
+    }
+
+    @Test
+    public void selectDateImmediately() {
+        HorizontalCalendar calendar = build(HorizontalCalendar.SELECTION_MODE_SINGLE);
+
+        BindCounts before = counts();
+        calendar.selectDate(date(2017, Calendar.JUNE, 17), true);
+        settle();
+        assertEquals(calendar.positionOfDate(date(2017, Calendar.JUNE, 17)), calendar.getSelectedDatePosition());
+        //Only the 2 dates scrolled into the screen are bound in full
+        assertCounts("near jump", before, 1, 3, 2);
+
+        before = counts();
+        calendar.selectDate(date(2017, Calendar.NOVEMBER, 1), true);
+        settle();
+        assertEquals(calendar.positionOfDate(date(2017, Calendar.NOVEMBER, 1)), calendar.getSelectedDatePosition());
+        assertCounts("far jump", before, 2, DATES_ON_SCREEN + 1, 2);
+    }
+
+    @Test
+    public void detachCancelsRefresh() {
+        final List<Long> loads = new ArrayList<>();
+        HorizontalCalendar calendar = builder(HorizontalCalendar.SELECTION_MODE_SINGLE)
+                .dayDataProvider(new DayDataProvider<Object>() {
+                    @Override
+                    public List<Object> loadDays(long firstEpochDay, int count) {
+                        loads.add(firstEpochDay);
+                        return Collections.emptyList();
+                    }
+
+                    @Override
+                    public int getDayMarker(Object data) {
+                        return 0;
+                    }
+                })
+                .build();
+        settle();
+
+        //The refresh would prefetch the day data around the new date
+        int loaded = loads.size();
+        Date far = date(2017, Calendar.NOVEMBER, 1);
+        calendar.selectDate(far, true);
+        ViewGroup root = (ViewGroup) calendarView.getParent();
+        root.removeView(calendarView);
+        settle();
+        assertEquals(loaded, loads.size());
+
+        root.addView(calendarView);
+        settle();
+        assertEquals(calendar.positionOfDate(far), calendar.getSelectedDatePosition());
+        assertTrue(loads.size() > loaded);
+    }
+
+    @Test
+    public void clampDayMarkersFromProvider() {
+        builder(HorizontalCalendar.SELECTION_MODE_SINGLE)
+                .showDayMarkers(true)
+                .dayDataProvider(new DayDataProvider<Integer>() {
+                    @Override
+                    public List<Integer> loadDays(long firstEpochDay, int count) {
+                        List<Integer> days = new ArrayList<>();
+                        for (int i = 0; i < count; i++) {
+                            //-1 to 5 markers
+                            days.add(i % 7 - 1);
+                        }
+                        return days;
+                    }
+
+                    @Override
+                    public int getDayMarker(Integer data) {
+                        return data;
+                    }
+                })
+                .build();
+        settle();
+
+        //Bound again with the markers of the loaded pages, negative ones show no dots
+        for (int i = 0; i < calendarView.getChildCount(); i++) {
+            HorizontalCalendarAdapter.DayViewHolder holder =
+                    (HorizontalCalendarAdapter.DayViewHolder) calendarView.getChildViewHolder(calendarView.getChildAt(i));
+            CharSequence markers = holder.txtDayMarkers.getText();
+            assertTrue("markers " + markers, markers.length() <= "\u2022 \u2022 \u2022".length());
+        }
+    }
+
+    @Test
+    public void selectDateOutOfLoadedEndlessDates() {
+        HorizontalCalendar calendar = builder(HorizontalCalendar.SELECTION_MODE_SINGLE)
+                .endless(true)
+                .build();
+        settle();
+
+        int count = calendar.getDateSource().getCount();
+        Date far = date(2019, Calendar.MARCH, 3);
+        //Positions don't load dates
+        assertEquals(-1, calendar.positionOfDate(far));
+        assertEquals(count, calendar.getDateSource().getCount());
+
+        calendar.selectDate(far, true);
+        settle();
+        assertEquals(calendar.positionOfDate(far), calendar.getSelectedDatePosition());
+        int extended = calendar.getDateSource().getCount() - count;
+        assertTrue("extended by " + extended, (extended > 0) && (extended % HorizontalCalendar.ENDLESS_PAGE_SIZE == 0));
+
+        //Too far to load
+        count = calendar.getDateSource().getCount();
+        calendar.selectDate(new Date(Long.MAX_VALUE), true);
+        settle();
+        assertEquals(count, calendar.getDateSource().getCount());
+    }
+
+    @Test
+    public void selectDateWithAnimation() {
+        HorizontalCalendar calendar = build(HorizontalCalendar.SELECTION_MODE_SINGLE);
+
+        BindCounts before = counts();
+        calendar.selectDate(date(2017, Calendar.JUNE, 25), false);
+        settle();
+
+        assertEquals(calendar.positionOfDate(date(2017, Calendar.JUNE, 25)), calendar.getSelectedDatePosition());
+        assertCounts("animated jump", before, 2, 10 + 3, 2 * 10 + 2);
+    }
+
+    @Test
+    public void tapInMultipleSelection() {
+        build(HorizontalCalendar.SELECTION_MODE_MULTIPLE);
+
+        int center = calendarView.getPositionOfCenterItem();
+        for (int offset = -2; offset <= 2; offset++) {
+            BindCounts before = counts();
+            tap(center + offset);
+            assertCounts("select " + offset, before, 0, 0, 1);
+            assertLayoutRequests("select " + offset, before);
+        }
+        BindCounts before = counts();
+        tap(center);
+        assertCounts("unselect", before, 0, 0, 1);
+        assertLayoutRequests("unselect", before);
+    }
+
+    @Test
+    public void tapFirstAndLastDates() {
+        Calendar start = Calendar.getInstance();
+        start.setTime(date(2017, Calendar.JANUARY, 1));
+        start.set(Calendar.HOUR_OF_DAY, 15);
+        Calendar end = Calendar.getInstance();
+        end.setTime(date(2017, Calendar.JANUARY, 31));
+        //The start and end dates have a time of day, the dates of the cells don't
+        HorizontalCalendar calendar = builder(HorizontalCalendar.SELECTION_MODE_MULTIPLE)
+                .startDate(start.getTime())
+                .endDate(end.getTime())
+                .defaultSelectedDate(start.getTime())
+                .build();
+        settle();
+        final int[] longClicks = new int[1];
+        calendar.setCalendarListener(new HorizontalCalendarListener() {
+            @Override
+            public void onDateSelected(Date date, int position) {
+            }
+
+            @Override
+            public boolean onDateLongClicked(Date date, int position) {
+                longClicks[0]++;
+                return true;
+            }
+        });
+
+        //Padding dates before the start date can't be tapped
+        int first = calendar.positionOfDate(start.getTime());
+        assertTrue("no padding before " + first, first > 0);
+        tap(first - 1);
+        assertEquals(0, calendar.getSelectedDates().size());
+        assertFalse(calendarView.findViewHolderForAdapterPosition(first - 1).itemView.performLongClick());
+        assertEquals(0, longClicks[0]);
+
+        tap(first);
+        assertTrue(calendar.isDateSelected(date(2017, Calendar.JANUARY, 1)));
+        assertTrue(calendarView.findViewHolderForAdapterPosition(first).itemView.performLongClick());
+        assertEquals(1, longClicks[0]);
+
+        int last = calendar.positionOfDate(end.getTime());
+        calendar.selectDate(end.getTime(), true);
+        settle();
+        tap(last);
+        assertTrue(calendar.isDateSelected(end.getTime()));
+    }
+
+    @Test
+    public void tapInRangeSelection() {
+        HorizontalCalendar calendar = build(HorizontalCalendar.SELECTION_MODE_RANGE);
+
+        int center = calendarView.getPositionOfCenterItem();
+        BindCounts before = counts();
+        tap(center - 2);
+        assertCounts("range start", before, 0, 0, 1);
+
+        before = counts();
+        tap(center + 2);
+        assertEquals(5, calendar.getSelectedDates().size());
+        //The start is already selected
+        assertCounts("range end", before, 0, 0, 4);
+        assertLayoutRequests("range end", before);
+
+        before = counts();
+        tap(center);
+        assertEquals(1, calendar.getSelectedDates().size());
+        assertCounts("new range", before, 0, 0, 4);
+    }
+
+    @Test
+    public void sharedPoolShowsLabelsHiddenByAnotherCalendar() {
+        assertLabelsShownAfterReuse(false);
+        assertLabelsShownAfterReuse(true);
+    }
+
+    /**
+     * Page from a calendar hiding its labels to one showing them, sharing the same cells.
+     */
+    private void assertLabelsShownAfterReuse(boolean drawDayCells) {
+        HorizontalCalendarPool pool = new HorizontalCalendarPool();
+        builder(HorizontalCalendar.SELECTION_MODE_SINGLE)
+                .drawDayCells(drawDayCells)
+                .sharedPool(pool)
+                .showMonthName(false)
+                .showDayName(false)
+                .build();
+        settle();
+
+        ViewGroup root = (ViewGroup) calendarView.getParent();
+        //Detaching gives the cells back to the pool
+        root.removeView(calendarView);
+        calendarView = new HorizontalCalendarView(activity, null);
+        calendarViewId = View.generateViewId();
+        calendarView.setId(calendarViewId);
+        root.addView(calendarView, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        builder(HorizontalCalendar.SELECTION_MODE_SINGLE)
+                .drawDayCells(drawDayCells)
+                .sharedPool(pool)
+                .build();
+        settle();
+
+        assertEquals("cells not reused", 0, counts().created);
+        assertTrue(calendarView.getChildCount() > 0);
+        for (int i = 0; i < calendarView.getChildCount(); i++) {
+            HorizontalCalendarAdapter.DayViewHolder holder =
+                    (HorizontalCalendarAdapter.DayViewHolder) calendarView.getChildViewHolder(calendarView.getChildAt(i));
+            if (drawDayCells) {
+                assertTrue("month name hidden", holder.cellView.isMonthNameVisible());
+                assertTrue("day name hidden", holder.cellView.isDayNameVisible());
+            } else {
+                assertEquals("month name hidden", View.VISIBLE, holder.txtMonthName.getVisibility());
+                assertEquals("day name hidden", View.VISIBLE, holder.txtDayName.getVisibility());
+            }
+        }
+    }
+
+    private void assertPreparedCellsReused(boolean drawDayCells) {
+        HorizontalCalendar calendar = builder(HorizontalCalendar.SELECTION_MODE_SINGLE)
+                .drawDayCells(drawDayCells)
+                .prepareDayCells(true)
+                .build();
+        settle();
+        assertEquals(2 * DATES_ON_SCREEN, calendar.getPreparedDayCellCount());
+
+        BindCounts before = counts();
+        calendarView.fling(4000, 0);
+        settle();
+        assertCounts("first fling", before, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    private HorizontalCalendar build(int selectionMode) {
+        HorizontalCalendar calendar = builder(selectionMode).build();
+        settle();
+        return calendar;
+    }
+
+    private HorizontalCalendar.Builder builder(int selectionMode) {
+        return new HorizontalCalendar.Builder(activity, calendarViewId)
+                .startDate(date(2017, Calendar.JANUARY, 1))
+                .endDate(date(2017, Calendar.DECEMBER, 31))
+                .defaultSelectedDate(date(2017, Calendar.JUNE, 15))
+                .datesNumberOnScreen(DATES_ON_SCREEN)
+                .selectionMode(selectionMode)
+                .executor(DIRECT_EXECUTOR)
+                .metrics(new HorizontalCalendarMetrics());
+    }
+
+    private void tap(int position) {
+        RecyclerView.ViewHolder holder = calendarView.findViewHolderForAdapterPosition(position);
+        assertTrue("no cell at " + position, holder != null);
+        holder.itemView.performClick();
+        settle();
+    }
+
+    /**
+     * Run the main looper, including animation frames, until nothing else is posted.
+     */
+    private void settle() {
+        Scheduler scheduler = Robolectric.getForegroundThreadScheduler();
+        for (int i = 0; (i < 10000) && (scheduler.size() > 0); i++) {
+            scheduler.advanceToNextPostedRunnable();
+        }
+        assertEquals(RecyclerView.SCROLL_STATE_IDLE, calendarView.getScrollState());
+    }
+
+    private void assertCounts(String scenario, BindCounts before, int maxCreated, int maxFullBinds,
+                              int maxPayloadBinds) {
+        BindCounts after = counts();
+        long created = after.created - before.created;
+        long fullBinds = after.fullBinds - before.fullBinds;
+        long payloadBinds = after.payloadBinds - before.payloadBinds;
+
+        String counts = scenario + ": " + created + " created, " + fullBinds + " full binds, "
+                + payloadBinds + " payload binds";
+        assertTrue(counts + ", expected at most " + maxCreated + " created", created <= maxCreated);
+        assertTrue(counts + ", expected at most " + maxFullBinds + " full binds", fullBinds <= maxFullBinds);
+        assertTrue(counts + ", expected at most " + maxPayloadBinds + " payload binds",
+                payloadBinds <= maxPayloadBinds);
+    }
+
+    /**
+     * Selection changes only recolor the labels, new days only lay out the labels whose text changed.
+     */
+    private void assertLayoutRequests(String scenario, BindCounts before) {
+        BindCounts after = counts();
+        long fullBinds = after.fullBinds - before.fullBinds;
+        long requests = after.layoutRequests - before.layoutRequests;
+        assertTrue(scenario + ": " + requests + " label layout requests for " + fullBinds + " full binds",
+                requests <= LAYOUT_REQUESTS_PER_FULL_BIND * fullBinds);
+    }
+
+    private BindCounts counts() {
+        return new BindCounts(calendarView.getHorizontalCalendar().getMetrics(), layoutRequests);
+    }
+
+    private static Date date(int year, int month, int dayOfMonth) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth);
+        return calendar.getTime();
+    }
+
+    private static final class BindCounts {
+
+        final long created;
+        final long fullBinds;
+        final long payloadBinds;
+        final long layoutRequests;
+
+        BindCounts(HorizontalCalendarMetrics metrics, long layoutRequests) {
+            created = metrics.getViewHolderCreations();
+            fullBinds = metrics.getFullBinds();
+            payloadBinds = metrics.getPayloadBinds();
+            this.layoutRequests = layoutRequests;
+        }
+    }
+
+    private final class LayoutCountingTextView extends TextView {
+
+        LayoutCountingTextView(Context context, AttributeSet attrs) {
+            super(context, attrs);
+        }
+
+        @Override
+        public void requestLayout() {
+            super.requestLayout();
+            layoutRequests++;
+        }
+    }
+}
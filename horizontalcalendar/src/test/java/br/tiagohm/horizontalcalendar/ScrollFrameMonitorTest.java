@@ -0,0 +1,94 @@
+package br.tiagohm.horizontalcalendar;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ScrollFrameMonitorTest {
+
+    //60 Hz
+    private static final long FRAME = 16666667;
+
+    private int frames;
+    private int droppedFrames;
+    private long longestFrameNanos;
+    private int distance;
+    private boolean flung;
+    private int reports;
+
+    private final ScrollFrameMonitor monitor = new ScrollFrameMonitor(RuntimeEnvironment.application,
+            new HorizontalCalendarFrameListener() {
+                @Override
+                public void onScrollFrames(int frames, int droppedFrames, long longestFrameNanos, int distance,
+                                           boolean flung) {
+                    ScrollFrameMonitorTest.this.frames = frames;
+                    ScrollFrameMonitorTest.this.droppedFrames = droppedFrames;
+                    ScrollFrameMonitorTest.this.longestFrameNanos = longestFrameNanos;
+                    ScrollFrameMonitorTest.this.distance = distance;
+                    ScrollFrameMonitorTest.this.flung = flung;
+                    reports++;
+                }
+            });
+
+    @Test
+    public void reportsDroppedFramesOfFling() {
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_DRAGGING);
+        monitor.onScrolled(null, 30, 0);
+        monitor.onFling();
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_SETTLING);
+        monitor.onScrolled(null, -10, 0);
+
+        long time = 1000 * FRAME;
+        monitor.doFrame(time);
+        monitor.doFrame(time += FRAME);
+        //2 frames missed
+        monitor.doFrame(time += 3 * FRAME);
+        monitor.doFrame(time + FRAME);
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_IDLE);
+
+        assertEquals(1, reports);
+        assertEquals(4, frames);
+        assertEquals(2, droppedFrames);
+        assertEquals(3 * FRAME, longestFrameNanos);
+        assertEquals(40, distance);
+        assertTrue(flung);
+    }
+
+    @Test
+    public void startsAgainForEachScroll() {
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_DRAGGING);
+        monitor.onFling();
+        monitor.doFrame(FRAME);
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_IDLE);
+
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_SETTLING);
+        monitor.onScrolled(null, 5, 0);
+        monitor.doFrame(10 * FRAME);
+        monitor.doFrame(11 * FRAME);
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_IDLE);
+
+        assertEquals(2, reports);
+        assertEquals(2, frames);
+        assertEquals(0, droppedFrames);
+        assertEquals(5, distance);
+        assertFalse(flung);
+    }
+
+    @Test
+    public void ignoresFramesWhenIdle() {
+        monitor.doFrame(FRAME);
+        monitor.onScrollStateChanged(null, RecyclerView.SCROLL_STATE_IDLE);
+
+        assertEquals(0, reports);
+    }
+}